@@ -0,0 +1,78 @@
+package com.workshop.moneytransfer.archive;
+
+import com.workshop.moneytransfer.config.ArchiveProperties;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves monthly partitions older than the retention age out of the
+ * transactions table into immutable segment files.
+ * A partition is deleted only after its segment is durably in place; if the
+ * process dies in between, the rows are simply archived again next run and
+ * history reads de-duplicate by transaction id meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiver {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionSegmentStore segmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    @Scheduled(cron = "${archive.cron:0 0 2 * * *}")
+    public void archiveExpiredPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int cutoff = Transaction.partitionOf(
+                LocalDateTime.now().minusDays(properties.getRetentionDays()));
+
+        for (Integer partitionMonth : transactionRepository.findPartitionMonthsBefore(cutoff)) {
+            try {
+                archivePartition(partitionMonth);
+            } catch (IOException e) {
+                log.error("Failed to archive transaction partition {}", partitionMonth, e);
+                return;
+            }
+        }
+    }
+
+    public void archivePartition(int partitionMonth) throws IOException {
+        long maxId = 0;
+        int count = 0;
+        try (TransactionSegment.Writer writer = segmentStore.newWriter(partitionMonth)) {
+            List<Transaction> page;
+            do {
+                page = transactionRepository
+                        .findTop1000ByPartitionMonthAndIdGreaterThanOrderById(partitionMonth, maxId);
+                for (Transaction transaction : page) {
+                    writer.add(transaction);
+                    maxId = transaction.getId();
+                }
+                count += page.size();
+            } while (page.size() == 1000);
+
+            if (count == 0) {
+                return;
+            }
+            segmentStore.write(writer);
+        }
+
+        long archivedUpTo = maxId;
+        Integer deleted = transactionTemplate.execute(
+                tx -> transactionRepository.deletePartition(partitionMonth, archivedUpTo));
+        log.info("Archived partition {}: {} transactions written, {} rows deleted",
+                partitionMonth, count, deleted);
+    }
+}
@@ -0,0 +1,458 @@
+package com.workshop.moneytransfer.archive;
+
+import com.workshop.moneytransfer.model.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable, compressed file holding one archived month of transactions.
+ *
+ * Layout:
+ * <pre>
+ *   header   int magic, int version, int partitionMonth
+ *   blocks   one deflated block per account with every transaction it took part in
+ *   index    int entries, then (UTF account, long offset, int length, int rawLength, int count)
+ *   footer   long indexOffset, int magic
+ * </pre>
+ * A transaction is stored in the block of both its accounts, trading some
+ * space for a single seek and inflate per history lookup. The index is
+ * loaded into memory when the segment is opened.
+ */
+public final class TransactionSegment implements Closeable {
+
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x4D545347; // "MTSG"
+    private static final int VERSION = 1;
+    private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final int partitionMonth;
+    private final FileChannel channel;
+    private final Map<String, BlockRef> index;
+
+    private TransactionSegment(Path path, int partitionMonth, FileChannel channel,
+            Map<String, BlockRef> index) {
+        this.path = path;
+        this.partitionMonth = partitionMonth;
+        this.channel = channel;
+        this.index = index;
+    }
+
+    public static String fileName(int partitionMonth) {
+        return "transactions-" + partitionMonth + FILE_SUFFIX;
+    }
+
+    public static TransactionSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer footer = readFully(channel, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not a transaction segment: " + path);
+            }
+
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(
+                    readFully(channel, 0, 3 * Integer.BYTES).array()));
+            if (header.readInt() != MAGIC || header.readInt() != VERSION) {
+                throw new IOException("Unsupported transaction segment: " + path);
+            }
+            int partitionMonth = header.readInt();
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(readFully(
+                    channel, indexOffset, (int) (size - FOOTER_SIZE - indexOffset)).array()));
+            int entries = in.readInt();
+            Map<String, BlockRef> index = new HashMap<>(entries * 4 / 3 + 1);
+            for (int i = 0; i < entries; i++) {
+                index.put(in.readUTF(), new BlockRef(
+                        in.readLong(), in.readInt(), in.readInt(), in.readInt()));
+            }
+            return new TransactionSegment(path, partitionMonth, channel, index);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getPartitionMonth() {
+        return partitionMonth;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean containsAccount(String accountNumber) {
+        return index.containsKey(accountNumber);
+    }
+
+    public List<Transaction> findByAccount(String accountNumber) {
+        BlockRef ref = index.get(accountNumber);
+        if (ref == null) {
+            return List.of();
+        }
+        try {
+            byte[] compressed = readFully(channel, ref.offset(), ref.length()).array();
+            Inflater inflater = new Inflater();
+            byte[] raw = new byte[ref.rawLength()];
+            try {
+                inflater.setInput(compressed);
+                inflater.inflate(raw);
+            } finally {
+                inflater.end();
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            List<Transaction> transactions = new ArrayList<>(ref.count());
+            for (int i = 0; i < ref.count(); i++) {
+                transactions.add(readRecord(in));
+            }
+            return transactions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read segment " + path, e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt segment " + path, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Collects a partition's transactions per account and writes them as a
+     * new segment file. Rows are buffered per account up to a byte budget;
+     * when it fills, the buffered blocks are spilled in account order to a
+     * compressed run file next to the segment. {@link #writeTo()} then merges
+     * the runs, so each account still gets one contiguous block while memory
+     * stays bounded by the budget, not by the size of the month. The segment
+     * is written under a temporary name and moved into place, so readers
+     * only ever see complete segments.
+     */
+    public static final class Writer implements Closeable {
+
+        private final int partitionMonth;
+        private final Path directory;
+        private final long bufferBytes;
+        private final Map<String, ByteArrayOutputStream> blocks = new TreeMap<>();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final List<Path> runs = new ArrayList<>();
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        private final DataOutputStream recordOut = new DataOutputStream(record);
+        private long buffered;
+
+        public Writer(int partitionMonth, Path directory, long bufferBytes) {
+            this.partitionMonth = partitionMonth;
+            this.directory = directory;
+            this.bufferBytes = bufferBytes;
+        }
+
+        /**
+         * Transactions must be added in id order; blocks keep that order.
+         */
+        public void add(Transaction transaction) throws IOException {
+            record.reset();
+            writeRecord(recordOut, transaction);
+            byte[] bytes = record.toByteArray();
+            append(transaction.getFromAccountNumber(), bytes);
+            if (!transaction.getToAccountNumber().equals(transaction.getFromAccountNumber())) {
+                append(transaction.getToAccountNumber(), bytes);
+            }
+            if (buffered >= bufferBytes) {
+                spill();
+            }
+        }
+
+        private void append(String accountNumber, byte[] bytes) {
+            blocks.computeIfAbsent(accountNumber, k -> new ByteArrayOutputStream()).writeBytes(bytes);
+            counts.merge(accountNumber, 1, Integer::sum);
+            buffered += bytes.length;
+        }
+
+        private void spill() throws IOException {
+            Path run = directory.resolve(fileName(partitionMonth) + ".run" + runs.size());
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(Files.newOutputStream(run))))) {
+                out.writeInt(blocks.size());
+                for (Map.Entry<String, ByteArrayOutputStream> block : blocks.entrySet()) {
+                    out.writeUTF(block.getKey());
+                    out.writeInt(counts.get(block.getKey()));
+                    out.writeInt(block.getValue().size());
+                    block.getValue().writeTo(out);
+                }
+            }
+            blocks.clear();
+            counts.clear();
+            buffered = 0;
+        }
+
+        public Path writeTo() throws IOException {
+            Path target = directory.resolve(fileName(partitionMonth));
+            Path temp = directory.resolve(fileName(partitionMonth) + ".tmp");
+
+            List<Run> sources = new ArrayList<>();
+            Map<String, BlockRef> index = new TreeMap<>();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+
+                if (runs.isEmpty()) {
+                    sources.add(Run.inMemory(blocks, counts));
+                } else {
+                    if (!blocks.isEmpty()) {
+                        spill();
+                    }
+                    for (int i = 0; i < runs.size(); i++) {
+                        sources.add(Run.open(runs.get(i), i));
+                    }
+                }
+
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(partitionMonth);
+                long offset = 3L * Integer.BYTES;
+
+                // Runs hold rows in id order, so an account's pieces are merged run by run
+                PriorityQueue<Run> queue = new PriorityQueue<>(Comparator
+                        .comparing((Run run) -> run.current.accountNumber())
+                        .thenComparingInt(run -> run.order));
+                for (Run run : sources) {
+                    if (run.advance()) {
+                        queue.add(run);
+                    }
+                }
+
+                byte[] chunk = new byte[8192];
+                while (!queue.isEmpty()) {
+                    String accountNumber = queue.peek().current.accountNumber();
+                    deflater.reset();
+                    int length = 0;
+                    int rawLength = 0;
+                    int count = 0;
+                    while (!queue.isEmpty() && queue.peek().current.accountNumber().equals(accountNumber)) {
+                        Run run = queue.poll();
+                        deflater.setInput(run.current.raw());
+                        while (!deflater.needsInput()) {
+                            int n = deflater.deflate(chunk);
+                            out.write(chunk, 0, n);
+                            length += n;
+                        }
+                        rawLength += run.current.raw().length;
+                        count += run.current.count();
+                        if (run.advance()) {
+                            queue.add(run);
+                        }
+                    }
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int n = deflater.deflate(chunk);
+                        out.write(chunk, 0, n);
+                        length += n;
+                    }
+                    index.put(accountNumber, new BlockRef(offset, length, rawLength, count));
+                    offset += length;
+                }
+
+                out.writeInt(index.size());
+                for (Map.Entry<String, BlockRef> entry : index.entrySet()) {
+                    BlockRef ref = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(ref.offset());
+                    out.writeInt(ref.length());
+                    out.writeInt(ref.rawLength());
+                    out.writeInt(ref.count());
+                }
+                out.writeLong(offset);
+                out.writeInt(MAGIC);
+                out.flush();
+                file.getFD().sync();
+            } finally {
+                deflater.end();
+                for (Run run : sources) {
+                    run.close();
+                }
+                close();
+            }
+
+            Files.move(temp, target,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            target.toFile().setReadOnly();
+            return target;
+        }
+
+        /**
+         * Deletes any spilled runs; called by {@link #writeTo()} and safe to call again.
+         */
+        @Override
+        public void close() throws IOException {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            runs.clear();
+        }
+    }
+
+    private record Block(String accountNumber, int count, byte[] raw) {
+    }
+
+    /**
+     * One sorted source of account blocks for the merge: a spilled run file,
+     * or the in-memory blocks when nothing was spilled.
+     */
+    private static final class Run implements Closeable {
+
+        private final int order;
+        private final BlockReader reader;
+        private final Closeable resource;
+        private Block current;
+
+        private Run(int order, BlockReader reader, Closeable resource) {
+            this.order = order;
+            this.reader = reader;
+            this.resource = resource;
+        }
+
+        static Run inMemory(Map<String, ByteArrayOutputStream> blocks, Map<String, Integer> counts) {
+            Iterator<Map.Entry<String, ByteArrayOutputStream>> entries = blocks.entrySet().iterator();
+            return new Run(0, () -> {
+                if (!entries.hasNext()) {
+                    return null;
+                }
+                Map.Entry<String, ByteArrayOutputStream> entry = entries.next();
+                return new Block(entry.getKey(), counts.get(entry.getKey()), entry.getValue().toByteArray());
+            }, () -> { });
+        }
+
+        static Run open(Path path, int order) throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    new InflaterInputStream(Files.newInputStream(path))));
+            int[] remaining = {in.readInt()};
+            return new Run(order, () -> {
+                if (remaining[0] == 0) {
+                    return null;
+                }
+                remaining[0]--;
+                String accountNumber = in.readUTF();
+                int count = in.readInt();
+                byte[] raw = new byte[in.readInt()];
+                in.readFully(raw);
+                return new Block(accountNumber, count, raw);
+            }, in);
+        }
+
+        boolean advance() throws IOException {
+            current = reader.next();
+            return current != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            resource.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockReader {
+        Block next() throws IOException;
+    }
+
+    private static void writeRecord(DataOutputStream out, Transaction t) throws IOException {
+        out.writeLong(t.getId() != null ? t.getId() : -1L);
+        out.writeUTF(t.getTransactionId());
+        out.writeUTF(t.getFromAccountNumber());
+        out.writeUTF(t.getToAccountNumber());
+        out.writeUTF(t.getAmount().toPlainString());
+        out.writeUTF(t.getCurrency());
+        writeNullable(out, t.getExchangeRate() != null ? t.getExchangeRate().toPlainString() : null);
+        writeNullable(out, t.getConvertedAmount() != null ? t.getConvertedAmount().toPlainString() : null);
+        writeNullable(out, t.getConvertedCurrency());
+        out.writeUTF(t.getStatus());
+        writeNullable(out, t.getDescription());
+        writeNullable(out, t.getFailureReason());
+        out.writeLong(t.getTransactionDate().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(t.getTransactionDate().getNano());
+    }
+
+    private static Transaction readRecord(DataInputStream in) throws IOException {
+        Transaction t = new Transaction();
+        long id = in.readLong();
+        t.setId(id >= 0 ? id : null);
+        t.setTransactionId(in.readUTF());
+        t.setFromAccountNumber(in.readUTF());
+        t.setToAccountNumber(in.readUTF());
+        t.setAmount(new BigDecimal(in.readUTF()));
+        t.setCurrency(in.readUTF());
+        String exchangeRate = readNullable(in);
+        t.setExchangeRate(exchangeRate != null ? new BigDecimal(exchangeRate) : null);
+        String convertedAmount = readNullable(in);
+        t.setConvertedAmount(convertedAmount != null ? new BigDecimal(convertedAmount) : null);
+        t.setConvertedCurrency(readNullable(in));
+        t.setStatus(in.readUTF());
+        t.setDescription(readNullable(in));
+        t.setFailureReason(readNullable(in));
+        long epochSecond = in.readLong();
+        t.setTransactionDate(LocalDateTime.ofEpochSecond(epochSecond, in.readInt(), ZoneOffset.UTC));
+        t.setPartitionMonth(Transaction.partitionOf(t.getTransactionDate()));
+        return t;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private record BlockRef(long offset, int length, int rawLength, int count) {
+    }
+}
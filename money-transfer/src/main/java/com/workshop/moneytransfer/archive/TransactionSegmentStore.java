@@ -0,0 +1,89 @@
+package com.workshop.moneytransfer.archive;
+
+import com.workshop.moneytransfer.config.ArchiveProperties;
+import com.workshop.moneytransfer.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Cold tier for archived transactions: the set of open segment files
+ * in the archive directory, keyed by partition month.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSegmentStore {
+
+    private final ArchiveProperties properties;
+    private final ConcurrentSkipListMap<Integer, TransactionSegment> segments =
+            new ConcurrentSkipListMap<>();
+
+    private Path directory;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory, "*" + TransactionSegment.FILE_SUFFIX)) {
+            for (Path file : files) {
+                TransactionSegment segment = TransactionSegment.open(file);
+                segments.put(segment.getPartitionMonth(), segment);
+            }
+        }
+        log.info("Opened {} archived transaction segments from {}", segments.size(), directory);
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * A writer for a new segment in this store, spilling to the archive directory.
+     */
+    public TransactionSegment.Writer newWriter(int partitionMonth) {
+        return new TransactionSegment.Writer(partitionMonth, directory, properties.getWriteBufferBytes());
+    }
+
+    public void write(TransactionSegment.Writer writer) throws IOException {
+        TransactionSegment segment = TransactionSegment.open(writer.writeTo());
+        TransactionSegment previous = segments.put(segment.getPartitionMonth(), segment);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public List<Transaction> findByAccount(String accountNumber) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (TransactionSegment segment : segments.values()) {
+            transactions.addAll(segment.findByAccount(accountNumber));
+        }
+        return transactions;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (TransactionSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segments.clear();
+    }
+}
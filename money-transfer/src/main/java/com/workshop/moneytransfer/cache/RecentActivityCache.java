@@ -0,0 +1,159 @@
+package com.workshop.moneytransfer.cache;
+
+import com.workshop.moneytransfer.config.RecentActivityProperties;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last-N transactions per recently active account, for history requests
+ * with a small limit. A ring is created on the first read for an existing
+ * account and warmed from the database; after that, committed transfers are
+ * appended as they happen. Accounts are evicted least recently used first.
+ *
+ * Only accounts already in the cache are appended to, so a transfer never
+ * pulls a cold account in; its first read loads it instead.
+ */
+@Component
+public class RecentActivityCache {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final RecentActivityProperties properties;
+    private final Map<String, RecentActivityRing> rings;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RecentActivityCache(TransactionRepository transactionRepository,
+            AccountRepository accountRepository, RecentActivityProperties properties,
+            MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.properties = properties;
+        this.rings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecentActivityRing> eldest) {
+                return size() > properties.getMaxAccounts();
+            }
+        };
+
+        FunctionCounter.builder("recent_activity.requests", hits, AtomicLong::get)
+                .description("History reads served from the recent-activity cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("recent_activity.requests", misses, AtomicLong::get)
+                .description("History reads served from the recent-activity cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("recent_activity.accounts", this, RecentActivityCache::size)
+                .description("Accounts with a cached recent-activity ring")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getCapacity() {
+        return properties.getCapacity();
+    }
+
+    /**
+     * The {@code limit} most recent transactions of the account, oldest first.
+     * {@code limit} must not exceed {@link #getCapacity()}.
+     */
+    public List<TransactionResponse> recent(String accountNumber, int limit) {
+        RecentActivityRing ring;
+        synchronized (rings) {
+            ring = rings.get(accountNumber);
+        }
+        if (ring == null) {
+            // Unknown account numbers must not take a slot and evict real accounts
+            if (!accountRepository.existsByAccountNumber(accountNumber)) {
+                misses.incrementAndGet();
+                return List.of();
+            }
+            synchronized (rings) {
+                ring = rings.computeIfAbsent(accountNumber,
+                        key -> new RecentActivityRing(properties.getCapacity()));
+            }
+        }
+
+        if (ring.isLoaded()) {
+            hits.incrementAndGet();
+        } else {
+            // Read without holding the ring; it is already registered, so
+            // transfers committed during the read are appended and merged
+            ring.fill(loadRecent(accountNumber));
+            misses.incrementAndGet();
+        }
+        return ring.latest(limit);
+    }
+
+    /**
+     * Appends the transaction to both accounts' rings once the current
+     * database transaction commits, or right away if there is none.
+     */
+    public void recordAfterCommit(Transaction transaction) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        TransactionResponse view = TransactionResponse.from(transaction);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(view);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(view);
+            }
+        });
+    }
+
+    public int size() {
+        synchronized (rings) {
+            return rings.size();
+        }
+    }
+
+    private void record(TransactionResponse view) {
+        appendTo(view.getFromAccountNumber(), view);
+        if (!view.getToAccountNumber().equals(view.getFromAccountNumber())) {
+            appendTo(view.getToAccountNumber(), view);
+        }
+    }
+
+    private void appendTo(String accountNumber, TransactionResponse view) {
+        RecentActivityRing ring;
+        synchronized (rings) {
+            ring = rings.get(accountNumber);
+        }
+        if (ring != null) {
+            ring.add(view);
+        }
+    }
+
+    private List<TransactionResponse> loadRecent(String accountNumber) {
+        PageRequest top = PageRequest.of(0, properties.getCapacity());
+        List<TransactionResponse> recent = new ArrayList<>(
+                transactionRepository.findRecentOutgoingViews(accountNumber, top));
+        recent.addAll(transactionRepository.findRecentIncomingViews(accountNumber, top));
+        return recent;
+    }
+}
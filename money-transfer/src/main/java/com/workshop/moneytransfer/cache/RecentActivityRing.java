@@ -0,0 +1,96 @@
+package com.workshop.moneytransfer.cache;
+
+import com.workshop.moneytransfer.dto.TransactionResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size ring of one account's most recent transactions.
+ * A transaction recorded again (e.g. a saga moving from PENDING to SUCCESS)
+ * replaces its earlier entry instead of taking a new slot.
+ */
+public class RecentActivityRing {
+
+    private static final Comparator<TransactionResponse> BY_DATE =
+            Comparator.comparing(TransactionResponse::getTransactionDate);
+
+    private final TransactionResponse[] entries;
+    private int next;
+    private int size;
+    private boolean loaded;
+
+    public RecentActivityRing(int capacity) {
+        this.entries = new TransactionResponse[capacity];
+    }
+
+    public synchronized void add(TransactionResponse transaction) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i].getTransactionId().equals(transaction.getTransactionId())) {
+                entries[i] = transaction;
+                return;
+            }
+        }
+        entries[next] = transaction;
+        next = (next + 1) % entries.length;
+        if (size < entries.length) {
+            size++;
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Fills the ring with rows read from the database. The read happens
+     * outside the ring's lock, so transactions added meanwhile are merged in,
+     * and win over the loaded copy, since they were recorded after the read's
+     * snapshot could have been taken. Only the first fill counts; a later one
+     * from a concurrent read is ignored.
+     *
+     * @return true if this call filled the ring
+     */
+    public synchronized boolean fill(List<TransactionResponse> loadedEntries) {
+        if (loaded) {
+            return false;
+        }
+        Map<String, TransactionResponse> merged = new LinkedHashMap<>();
+        for (TransactionResponse transaction : loadedEntries) {
+            merged.put(transaction.getTransactionId(), transaction);
+        }
+        for (int i = 0; i < size; i++) {
+            merged.put(entries[i].getTransactionId(), entries[i]);
+        }
+
+        List<TransactionResponse> ordered = new ArrayList<>(merged.values());
+        ordered.sort(BY_DATE);
+        List<TransactionResponse> kept = ordered.subList(
+                Math.max(0, ordered.size() - entries.length), ordered.size());
+
+        size = 0;
+        next = 0;
+        for (TransactionResponse transaction : kept) {
+            entries[next++] = transaction;
+            size++;
+        }
+        next %= entries.length;
+        loaded = true;
+        return true;
+    }
+
+    /**
+     * The {@code limit} most recent transactions, oldest first.
+     */
+    public synchronized List<TransactionResponse> latest(int limit) {
+        List<TransactionResponse> all = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            all.add(entries[i]);
+        }
+        all.sort(BY_DATE);
+        return new ArrayList<>(all.subList(Math.max(0, all.size() - limit), all.size()));
+    }
+}
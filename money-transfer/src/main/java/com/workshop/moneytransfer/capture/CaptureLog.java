@@ -0,0 +1,208 @@
+package com.workshop.moneytransfer.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary log of captured API requests.
+ *
+ * Layout:
+ * <pre>
+ *   header   int magic, int version, long captureStartEpochMillis
+ *   records  until end of file, each:
+ *            zigzag varlong arrival delta in micros from the previous record
+ *            byte method, byte content type
+ *            varint length + UTF-8 path and query
+ *            varint length + request body
+ *            varint response status
+ *            varlong latency in micros
+ *            varint length + UTF-8 account number the request created (0 if none)
+ * </pre>
+ * Records are written as requests complete, so arrival deltas can be
+ * negative; readers return records in file order.
+ */
+public final class CaptureLog {
+
+    static final String FILE_SUFFIX = ".mtcap";
+
+    private static final int MAGIC = 0x4D544341; // "MTCA"
+    private static final int VERSION = 1;
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH"};
+    private static final String[] CONTENT_TYPES = {null, "application/json", "text/plain"};
+
+    private CaptureLog() {
+    }
+
+    public record CapturedRequest(
+            long arrivalMicros,
+            String method,
+            String pathAndQuery,
+            String contentType,
+            byte[] body,
+            int status,
+            long latencyMicros,
+            String createdAccountNumber) {
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private long lastArrivalMicros;
+
+        public Writer(OutputStream output, long captureStartEpochMillis) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(output, 64 * 1024));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(captureStartEpochMillis);
+        }
+
+        public void write(CapturedRequest request) throws IOException {
+            long delta = request.arrivalMicros() - lastArrivalMicros;
+            lastArrivalMicros = request.arrivalMicros();
+
+            writeVarLong((delta << 1) ^ (delta >> 63));
+            out.writeByte(indexOf(METHODS, request.method()));
+            out.writeByte(indexOf(CONTENT_TYPES, request.contentType()));
+            writeBytes(request.pathAndQuery().getBytes(StandardCharsets.UTF_8));
+            writeBytes(request.body());
+            writeVarLong(request.status());
+            writeVarLong(request.latencyMicros());
+            writeBytes(request.createdAccountNumber() == null
+                    ? new byte[0]
+                    : request.createdAccountNumber().getBytes(StandardCharsets.UTF_8));
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final long captureStartEpochMillis;
+        private long lastArrivalMicros;
+
+        public Reader(InputStream input) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(input, 64 * 1024));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a capture log");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported capture log version: " + version);
+            }
+            this.captureStartEpochMillis = in.readLong();
+        }
+
+        public long getCaptureStartEpochMillis() {
+            return captureStartEpochMillis;
+        }
+
+        /**
+         * @return the next record, or null at end of log
+         */
+        public CapturedRequest read() throws IOException {
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            long zigzag = readVarLong(first);
+            lastArrivalMicros += (zigzag >>> 1) ^ -(zigzag & 1);
+
+            String method = METHODS[in.readUnsignedByte()];
+            String contentType = CONTENT_TYPES[in.readUnsignedByte()];
+            String path = new String(readBytes(), StandardCharsets.UTF_8);
+            byte[] body = readBytes();
+            int status = (int) readVarLong(in.readUnsignedByte());
+            long latencyMicros = readVarLong(in.readUnsignedByte());
+            byte[] created = readBytes();
+
+            return new CapturedRequest(lastArrivalMicros, method, path, contentType, body,
+                    status, latencyMicros,
+                    created.length == 0 ? null : new String(created, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[(int) readVarLong(in.readUnsignedByte())];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private long readVarLong(int firstByte) throws IOException {
+            long value = firstByte & 0x7F;
+            int shift = 7;
+            int b = firstByte;
+            while ((b & 0x80) != 0) {
+                b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Truncated capture record");
+                }
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Reads every complete record; a torn final record is dropped.
+     */
+    public static List<CapturedRequest> readAll(Path path) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (Reader reader = new Reader(Files.newInputStream(path))) {
+            CapturedRequest request;
+            while ((request = reader.read()) != null) {
+                requests.add(request);
+            }
+        } catch (EOFException e) {
+            // Capture stopped mid-record (process killed); keep what is complete
+        }
+        return requests;
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (value == null ? values[i] == null : value.equals(values[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Cannot encode in capture log: " + value);
+    }
+}
@@ -0,0 +1,99 @@
+package com.workshop.moneytransfer.capture;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replaces account numbers with keyed-hash pseudonyms of the same shape.
+ * The mapping is stable for a given key, so a capture keeps its per-account
+ * skew, but it can't be reversed without the key. Only places known to hold
+ * an account number are rewritten: the account fields of request bodies,
+ * the account segment of account-scoped paths, and the lines of a plain-text
+ * bulk status body. Other numbers, such as amounts or ids, are left alone.
+ */
+public class Pseudonymizer {
+
+    private static final Pattern PATH_ACCOUNT = Pattern.compile(
+            "^(/api/(?:accounts|transfers/history|holds/accounts|scheduled-transfers/account)/)"
+                    + "(\\d{10})((?:[/?].*)?)$");
+
+    private static final Pattern ACCOUNT_FIELD = Pattern.compile(
+            "(\"(?:accountNumber|fromAccountNumber|toAccountNumber)\"\\s*:\\s*\")(\\d{10})(\")");
+
+    private static final Pattern ACCOUNT_LIST = Pattern.compile("(\"accountNumbers\"\\s*:\\s*\\[)([^\\]]*)(\\])");
+
+    private static final Pattern LIST_ITEM = Pattern.compile("(\")(\\d{10})(\")");
+
+    private static final Pattern TEXT_LINE = Pattern.compile("(?m)^([ \\t]*)(\\d{10})([ \\t]*)$");
+
+    private static final Pattern HOLDER_NAME =
+            Pattern.compile("(\"accountHolderName\"\\s*:\\s*\")(?:[^\"\\\\]|\\\\.)*(\")");
+
+    private final ThreadLocal<Mac> mac;
+
+    public Pseudonymizer(String secret) {
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    public String accountNumber(String accountNumber) {
+        byte[] digest = mac.get().doFinal(accountNumber.getBytes(StandardCharsets.UTF_8));
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (digest[i] & 0xFF);
+        }
+        return String.format("%010d", Long.remainderUnsigned(value, 10_000_000_000L));
+    }
+
+    /**
+     * Pseudonymizes the account number of an account-scoped path; the query is left as is.
+     */
+    public String rewritePath(String pathAndQuery) {
+        return replaceAccounts(PATH_ACCOUNT, pathAndQuery);
+    }
+
+    /**
+     * Pseudonymizes the account fields of a JSON body and blanks account
+     * holder names. A plain-text body is a bulk status update, one account
+     * number per line.
+     */
+    public String rewriteBody(String contentType, String body) {
+        if (contentType != null && contentType.startsWith("text/plain")) {
+            return replaceAccounts(TEXT_LINE, body);
+        }
+        String rewritten = replaceAccounts(ACCOUNT_FIELD, body);
+
+        Matcher list = ACCOUNT_LIST.matcher(rewritten);
+        StringBuilder result = new StringBuilder(rewritten.length());
+        while (list.find()) {
+            list.appendReplacement(result, Matcher.quoteReplacement(
+                    list.group(1) + replaceAccounts(LIST_ITEM, list.group(2)) + list.group(3)));
+        }
+        list.appendTail(result);
+        return HOLDER_NAME.matcher(result).replaceAll("$1Captured Holder$2");
+    }
+
+    // Each pattern captures (prefix)(account number)(suffix)
+    private String replaceAccounts(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        StringBuilder result = new StringBuilder(text.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(
+                    matcher.group(1) + accountNumber(matcher.group(2)) + matcher.group(3)));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.workshop.moneytransfer.capture;
+
+import com.workshop.moneytransfer.config.CaptureProperties;
+import com.workshop.moneytransfer.shard.ShardAuthenticator;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Captures requests to the account and transfer APIs while a recording is
+ * running. Runs ahead of admission control and shard routing so it sees
+ * every request as the client sent it, including ones that get shed.
+ * Requests forwarded from another shard node are not captured again, but
+ * only if their signature verifies; the forwarded-by header alone is not enough.
+ */
+@Component
+@ConditionalOnProperty(prefix = "capture", name = "enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH");
+    private static final Pattern CREATED_ACCOUNT =
+            Pattern.compile("\"accountNumber\"\\s*:\\s*\"(\\d{10})\"");
+
+    private final TrafficRecorder recorder;
+    private final CaptureProperties properties;
+    private final ShardAuthenticator shardAuthenticator;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!recorder.isRecording() || !METHODS.contains(request.getMethod())
+                || shardAuthenticator.hasValidSignature(request)) {
+            return true;
+        }
+        String path = path(request);
+        return !(path.startsWith("/api/transfers") || path.startsWith("/api/accounts"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long arrivalNanos = System.nanoTime();
+        ContentCachingRequestWrapper cachingRequest =
+                new ContentCachingRequestWrapper(request, properties.getMaxBodyBytes());
+
+        // Only account creation needs its response body, to map the new account number on replay
+        boolean createsAccount = "POST".equals(request.getMethod()) && "/api/accounts".equals(path(request));
+        ContentCachingResponseWrapper cachingResponse =
+                createsAccount ? new ContentCachingResponseWrapper(response) : null;
+
+        try {
+            filterChain.doFilter(cachingRequest, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            long latencyNanos = System.nanoTime() - arrivalNanos;
+            String createdAccountNumber = null;
+            if (cachingResponse != null) {
+                Matcher matcher = CREATED_ACCOUNT.matcher(
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+                if (matcher.find()) {
+                    createdAccountNumber = matcher.group(1);
+                }
+                cachingResponse.copyBodyToResponse();
+            }
+
+            String pathAndQuery = request.getQueryString() == null
+                    ? path(request)
+                    : path(request) + "?" + request.getQueryString();
+            recorder.record(arrivalNanos, request.getMethod(), pathAndQuery,
+                    contentType(request.getContentType()), cachingRequest.getContentAsByteArray(),
+                    response.getStatus(), latencyNanos, createdAccountNumber);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String contentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (contentType.startsWith("application/json")) {
+            return "application/json";
+        }
+        if (contentType.startsWith("text/plain")) {
+            return "text/plain";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,294 @@
+package com.workshop.moneytransfer.capture;
+
+import com.workshop.moneytransfer.capture.CaptureLog.CapturedRequest;
+import com.workshop.moneytransfer.config.CaptureProperties;
+import com.workshop.moneytransfer.service.AccountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Records completed API requests to a capture log. Request threads only
+ * enqueue what they saw; pseudonymization, encoding and I/O happen on a
+ * single writer thread, and requests are dropped rather than delayed when
+ * that thread falls behind.
+ *
+ * Starting a capture first writes a pseudonymized account snapshot next to
+ * the log, so a replay can begin from matching balances. Transfers that
+ * commit while the snapshot is being read may make a few balances drift.
+ */
+@Component
+@ConditionalOnProperty(prefix = "capture", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TrafficRecorder {
+
+    static final String SNAPSHOT_SUFFIX = ".accounts";
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final CaptureProperties properties;
+    private final AccountService accountService;
+
+    private final AtomicReference<Session> session = new AtomicReference<>();
+
+    public boolean isRecording() {
+        return session.get() != null;
+    }
+
+    public synchronized Map<String, Object> start() throws IOException {
+        if (session.get() != null) {
+            return status();
+        }
+        Path directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        String name = "capture-" + LocalDateTime.now().format(FILE_NAME_FORMAT);
+
+        Path snapshotPath = directory.resolve(name + SNAPSHOT_SUFFIX);
+        Pseudonymizer pseudonymizer = newPseudonymizer();
+        long accounts = writeSnapshot(snapshotPath, pseudonymizer);
+        if (accounts < 0 && properties.getPseudonymKey() == null) {
+            // With a fresh random key another collision is vanishingly unlikely
+            pseudonymizer = newPseudonymizer();
+            accounts = writeSnapshot(snapshotPath, pseudonymizer);
+        }
+        if (accounts < 0) {
+            Files.deleteIfExists(snapshotPath);
+            throw new IllegalStateException(
+                    "Two accounts map to the same pseudonym; configure a different capture.pseudonym-key");
+        }
+
+        Path logPath = directory.resolve(name + CaptureLog.FILE_SUFFIX);
+        Session started = new Session(logPath, snapshotPath, pseudonymizer,
+                new CaptureLog.Writer(Files.newOutputStream(logPath), System.currentTimeMillis()),
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                failed -> session.compareAndSet(failed, null));
+        session.set(started);
+        started.writerThread.start();
+
+        log.info("Traffic capture started: {} ({} accounts in snapshot)", logPath, accounts);
+        return status();
+    }
+
+    public synchronized Map<String, Object> stop() throws InterruptedException {
+        Session stopping = session.getAndSet(null);
+        if (stopping == null) {
+            return status();
+        }
+        stopping.running = false;
+        stopping.writerThread.join();
+        stopping.dropLeftovers();
+
+        log.info("Traffic capture stopped: {} requests recorded, {} dropped",
+                stopping.recorded.get(), stopping.dropped.get());
+        return describe(stopping, false);
+    }
+
+    public Map<String, Object> status() {
+        Session current = session.get();
+        if (current == null) {
+            return Map.of("recording", false);
+        }
+        return describe(current, true);
+    }
+
+    /**
+     * Called on the request thread once the response is complete. Never blocks.
+     */
+    public void record(long arrivalNanos, String method, String pathAndQuery, String contentType,
+            byte[] body, int status, long latencyNanos, String createdAccountNumber) {
+        Session current = session.get();
+        if (current == null || arrivalNanos < current.startNanos) {
+            return;
+        }
+        Pending pending = new Pending(arrivalNanos, method, pathAndQuery, contentType, body,
+                status, latencyNanos, createdAccountNumber);
+        if (!current.queue.offer(pending)) {
+            current.dropped.incrementAndGet();
+        } else if (!current.running && current.queue.remove(pending)) {
+            // Stopped while this thread was enqueueing: the writer may be gone, so count it here
+            current.dropped.incrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stop();
+    }
+
+    private Pseudonymizer newPseudonymizer() {
+        return new Pseudonymizer(properties.getPseudonymKey() != null
+                ? properties.getPseudonymKey()
+                : randomKey());
+    }
+
+    /**
+     * @return the number of accounts written, or -1 if two of them got the same pseudonym
+     */
+    private long writeSnapshot(Path snapshotPath, Pseudonymizer pseudonymizer) throws IOException {
+        AtomicLong count = new AtomicLong();
+        long[][] pseudonyms = {new long[1024]};
+        try (BufferedWriter writer = Files.newBufferedWriter(snapshotPath, StandardCharsets.UTF_8)) {
+            writer.write("# accountNumber,balance,currency,status,tier");
+            writer.newLine();
+            accountService.forEachAccountView(account -> {
+                String pseudonym = pseudonymizer.accountNumber(account.getAccountNumber());
+                int index = (int) count.get();
+                if (index == pseudonyms[0].length) {
+                    pseudonyms[0] = Arrays.copyOf(pseudonyms[0], index * 2);
+                }
+                pseudonyms[0][index] = Long.parseLong(pseudonym);
+                try {
+                    writer.write(pseudonym + ","
+                            + account.getBalance().toPlainString() + ","
+                            + account.getCurrency() + ","
+                            + account.getStatus() + ","
+                            + account.getTier());
+                    writer.newLine();
+                    count.incrementAndGet();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot write account snapshot", e);
+                }
+            });
+        }
+
+        // Account numbers are unique, so any repeated pseudonym is a collision
+        long[] sorted = Arrays.copyOf(pseudonyms[0], (int) count.get());
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                log.warn("Pseudonym collision in account snapshot {}", snapshotPath);
+                return -1;
+            }
+        }
+        return count.get();
+    }
+
+    private static String randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return HexFormat.of().formatHex(key);
+    }
+
+    private Map<String, Object> describe(Session current, boolean recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", recording);
+        status.put("log", current.logPath.toString());
+        status.put("snapshot", current.snapshotPath.toString());
+        status.put("recorded", current.recorded.get());
+        status.put("dropped", current.dropped.get());
+        return status;
+    }
+
+    private record Pending(long arrivalNanos, String method, String pathAndQuery, String contentType,
+            byte[] body, int status, long latencyNanos, String createdAccountNumber) {
+    }
+
+    private static final class Session {
+
+        private final Path logPath;
+        private final Path snapshotPath;
+        private final Pseudonymizer pseudonymizer;
+        private final CaptureLog.Writer writer;
+        private final BlockingQueue<Pending> queue;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong recorded = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Thread writerThread;
+        private final Consumer<Session> onFailure;
+        private volatile boolean running = true;
+
+        private Session(Path logPath, Path snapshotPath, Pseudonymizer pseudonymizer,
+                CaptureLog.Writer writer, BlockingQueue<Pending> queue, Consumer<Session> onFailure) {
+            this.logPath = logPath;
+            this.snapshotPath = snapshotPath;
+            this.pseudonymizer = pseudonymizer;
+            this.writer = writer;
+            this.queue = queue;
+            this.onFailure = onFailure;
+            this.writerThread = new Thread(this::drain, "traffic-capture-writer");
+            this.writerThread.setDaemon(true);
+        }
+
+        private void drain() {
+            List<Pending> batch = new ArrayList<>();
+            try (writer) {
+                while (running || !queue.isEmpty()) {
+                    Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    for (Pending pending : batch) {
+                        writer.write(encode(pending));
+                    }
+                    recorded.addAndGet(batch.size());
+                    batch.clear();
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                log.error("Traffic capture to {} failed, recording stopped", logPath, e);
+                running = false;
+                onFailure.accept(this);
+                dropped.addAndGet(batch.size());
+                dropLeftovers();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Count whatever is still queued once the writer has exited as dropped.
+         */
+        private void dropLeftovers() {
+            List<Pending> leftovers = new ArrayList<>();
+            queue.drainTo(leftovers);
+            dropped.addAndGet(leftovers.size());
+        }
+
+        private CapturedRequest encode(Pending pending) {
+            byte[] body = pending.body();
+            if (body.length > 0) {
+                body = pseudonymizer.rewriteBody(pending.contentType(), new String(body, StandardCharsets.UTF_8))
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            return new CapturedRequest(
+                    (pending.arrivalNanos() - startNanos) / 1000,
+                    pending.method(),
+                    pseudonymizer.rewritePath(pending.pathAndQuery()),
+                    pending.contentType(),
+                    body,
+                    pending.status(),
+                    pending.latencyNanos() / 1000,
+                    pending.createdAccountNumber() == null
+                            ? null
+                            : pseudonymizer.accountNumber(pending.createdAccountNumber()));
+        }
+    }
+}
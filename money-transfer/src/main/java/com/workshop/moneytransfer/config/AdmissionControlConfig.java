@@ -0,0 +1,44 @@
+package com.workshop.moneytransfer.config;
+
+import com.workshop.moneytransfer.filter.AdaptiveConcurrencyLimiter;
+import com.workshop.moneytransfer.filter.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getWriteShare(),
+                properties.getReadQueueCapacity(),
+                properties.getWriteQueueCapacity());
+
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+
+        for (Priority priority : Priority.values()) {
+            FunctionCounter.builder("admission.rejected", limiter,
+                            l -> l.getRejectedCount(priority))
+                    .description("Requests shed with 503")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+
+        return limiter;
+    }
+}
@@ -0,0 +1,34 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    private double smoothing = 0.2;
+
+    // Fraction of the limit that transfers and other writes may occupy
+    private double writeShare = 0.8;
+
+    private int readQueueCapacity = 50;
+
+    private int writeQueueCapacity = 100;
+
+    private long readMaxWaitMs = 50;
+
+    private long writeMaxWaitMs = 500;
+
+    private int retryAfterSeconds = 1;
+}
@@ -0,0 +1,21 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+
+    private String directory = "./data/archive";
+
+    // Whole months older than this are moved to cold segments
+    private int retentionDays = 90;
+
+    // Rows buffered in memory while writing a segment; beyond this they are spilled to sorted runs on disk
+    private long writeBufferBytes = 32L * 1024 * 1024;
+}
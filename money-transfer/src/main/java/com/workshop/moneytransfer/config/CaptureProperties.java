@@ -0,0 +1,24 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "capture")
+public class CaptureProperties {
+
+    // Registers the capture filter and admin endpoints; recording is started on demand
+    private boolean enabled = false;
+
+    private String directory = "./data/capture";
+
+    // HMAC key for account number pseudonyms; a random key is used per capture if unset
+    private String pseudonymKey;
+
+    // Requests completing while the writer is this far behind are dropped, never waited on
+    private int queueCapacity = 10000;
+
+    private int maxBodyBytes = 65536;
+}
@@ -0,0 +1,24 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "holds")
+public class HoldProperties {
+
+    private long defaultTtlSeconds = 3600;
+
+    private long maxTtlSeconds = 604800;
+
+    private String journalPath = "./data/holds/holds.journal";
+
+    // fsync every journal append; without it holds survive a process crash but not power loss
+    private boolean journalSync = false;
+
+    private long expiryTickMs = 1000;
+
+    private int expiryWheelSize = 60;
+}
@@ -0,0 +1,43 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+
+    private int batchSize = 500;
+
+    private long pollIntervalMs = 200;
+
+    // Delivered events are kept this long before being purged
+    private int retentionHours = 24;
+
+    private FileSink file = new FileSink();
+
+    private HttpSink http = new HttpSink();
+
+    @Data
+    public static class FileSink {
+
+        private boolean enabled = true;
+
+        // Events are appended one JSON object per line
+        private String path = "./data/outbox/events.jsonl";
+    }
+
+    @Data
+    public static class HttpSink {
+
+        private boolean enabled = false;
+
+        private String url = "http://localhost:8080/internal/outbox-events";
+
+        private int timeoutMs = 5000;
+    }
+}
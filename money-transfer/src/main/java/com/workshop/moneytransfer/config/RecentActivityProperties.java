@@ -0,0 +1,19 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "recent-activity")
+public class RecentActivityProperties {
+
+    private boolean enabled = true;
+
+    // Transactions kept per account; history requests with a larger limit go to the database
+    private int capacity = 20;
+
+    // Least recently used accounts are evicted beyond this, bounding memory to capacity x maxAccounts
+    private int maxAccounts = 10000;
+}
@@ -0,0 +1,26 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = true;
+
+    private long tickMs = 1000;
+
+    private int wheelSize = 60;
+
+    // Only instructions due within this window are held in memory
+    private long windowMinutes = 10;
+
+    private long windowRefreshMs = 60000;
+
+    private int loadPageSize = 1000;
+
+    private int batchSize = 100;
+}
@@ -0,0 +1,40 @@
+package com.workshop.moneytransfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    // Id of this node, must match one of the entries in nodes
+    private String nodeId;
+
+    private int virtualNodes = 128;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    // Sagas whose credit leg is still unresolved after this long are retried
+    private long sagaRetryDelayMs = 10000;
+
+    // Key for the HMAC every node signs its requests to peers with; required when enabled
+    private String sharedSecret;
+
+    // Signed peer requests older (or further in the future) than this are rejected
+    private long maxRequestAgeMs = 60000;
+
+    @Data
+    public static class Node {
+
+        private String id;
+
+        private String url;
+    }
+}
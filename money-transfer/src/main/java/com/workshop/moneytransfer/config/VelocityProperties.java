@@ -0,0 +1,24 @@
+package com.workshop.moneytransfer.config;
+
+import com.workshop.moneytransfer.velocity.VelocityLimits;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    private String defaultTier = "STANDARD";
+
+    // Windows idle for longer than the longest limit hold nothing worth keeping
+    private long idleEvictionMinutes = 1440;
+
+    private Map<String, VelocityLimits> tiers = new HashMap<>();
+}
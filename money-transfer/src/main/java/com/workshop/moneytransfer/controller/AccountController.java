@@ -1,16 +1,27 @@
 package com.workshop.moneytransfer.controller;
 
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateRequest;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateResponse;
 import com.workshop.moneytransfer.dto.CreateAccountRequest;
 import com.workshop.moneytransfer.model.Account;
 import com.workshop.moneytransfer.service.AccountService;
+import com.workshop.moneytransfer.shard.ShardClient;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @RestController
@@ -19,28 +30,37 @@ import java.util.Map;
 public class AccountController {
 
     private final AccountService accountService;
+    private final StreamingJsonWriter streamingJsonWriter;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
 
     @PostMapping
-    public ResponseEntity<Account> createAccount(
+    public ResponseEntity<AccountResponse> createAccount(
             @Valid @RequestBody CreateAccountRequest request) {
 
         Account account = accountService.createAccount(
                 request.getAccountHolderName(),
-                request.getInitialBalance());
+                request.getInitialBalance(),
+                request.getCurrency());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(account);
+        return ResponseEntity.status(HttpStatus.CREATED).body(AccountResponse.from(account));
     }
 
     @GetMapping("/{accountNumber}")
-    public ResponseEntity<Account> getAccount(@PathVariable String accountNumber) {
-        Account account = accountService.getAccount(accountNumber);
+    public ResponseEntity<AccountResponse> getAccount(@PathVariable String accountNumber) {
+        AccountResponse account = accountService.getAccountView(accountNumber);
         return ResponseEntity.ok(account);
     }
 
+    /**
+     * Every account: this node's, then each peer's in turn when sharded.
+     */
     @GetMapping
-    public ResponseEntity<List<Account>> getAllAccounts() {
-        List<Account> accounts = accountService.getAllAccounts();
-        return ResponseEntity.ok(accounts);
+    public void getAllAccounts(HttpServletResponse response) throws IOException {
+        streamingJsonWriter.<AccountResponse>writeArray(response, sink -> {
+            accountService.forEachAccountView(sink);
+            shardRouter.peers().forEach(node -> shardClient.forEachAccount(node, sink));
+        });
     }
 
     @GetMapping("/{accountNumber}/balance")
@@ -52,11 +72,36 @@ public class AccountController {
     }
 
     @PutMapping("/{accountNumber}/status")
-    public ResponseEntity<Account> updateStatus(
+    public ResponseEntity<AccountResponse> updateStatus(
             @PathVariable String accountNumber,
             @RequestParam String status) {
 
         Account account = accountService.updateAccountStatus(accountNumber, status);
-        return ResponseEntity.ok(account);
+        return ResponseEntity.ok(AccountResponse.from(account));
+    }
+
+    @PutMapping(value = "/bulk-status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+
+        BulkStatusUpdateResponse response = accountService.updateAccountStatuses(
+                request.getAccountNumbers(), request.getStatus());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streamed variant: one account number per line in a text/plain body.
+     */
+    @PutMapping(value = "/bulk-status", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatusFromFile(
+            @RequestParam String status,
+            InputStream body) throws IOException {
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            BulkStatusUpdateResponse response = accountService.updateAccountStatuses(
+                    reader.lines()::iterator, status);
+            return ResponseEntity.ok(response);
+        }
     }
 }
\ No newline at end of file
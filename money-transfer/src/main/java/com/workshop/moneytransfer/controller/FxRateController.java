@@ -0,0 +1,34 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.service.FxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/fx-rates")
+@RequiredArgsConstructor
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, BigDecimal>> getRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    @PutMapping
+    public ResponseEntity<Map<String, BigDecimal>> replaceRates(
+            @RequestBody Map<String, BigDecimal> rates) {
+
+        return ResponseEntity.ok(fxRateService.replaceRates(rates));
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, BigDecimal>> reloadRates() {
+        return ResponseEntity.ok(fxRateService.reloadFromFile());
+    }
+}
@@ -0,0 +1,72 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.dto.AuthorizeHoldRequest;
+import com.workshop.moneytransfer.dto.CaptureHoldRequest;
+import com.workshop.moneytransfer.dto.HoldResponse;
+import com.workshop.moneytransfer.hold.Hold;
+import com.workshop.moneytransfer.hold.HoldService;
+import com.workshop.moneytransfer.service.AccountService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+    private final AccountService accountService;
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> authorize(@Valid @RequestBody AuthorizeHoldRequest request) {
+        Hold hold = holdService.authorize(
+                request.getFromAccountNumber(),
+                request.getToAccountNumber(),
+                request.getAmount(),
+                request.getDescription(),
+                request.getTtlSeconds());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(HoldResponse.from(hold));
+    }
+
+    @GetMapping("/{holdId}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable String holdId) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.getHold(holdId)));
+    }
+
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<HoldResponse> capture(
+            @PathVariable String holdId,
+            @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+
+        CaptureHoldRequest capture = request != null ? request : new CaptureHoldRequest();
+        Hold hold = holdService.capture(holdId, capture.getAmount(), capture.getDescription());
+        return ResponseEntity.ok(HoldResponse.from(hold));
+    }
+
+    @PostMapping("/{holdId}/void")
+    public ResponseEntity<HoldResponse> voidHold(@PathVariable String holdId) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.voidHold(holdId)));
+    }
+
+    @GetMapping("/accounts/{accountNumber}/available-balance")
+    public ResponseEntity<Map<String, BigDecimal>> getAvailableBalance(
+            @PathVariable String accountNumber) {
+
+        BigDecimal balance = accountService.getBalance(accountNumber);
+        BigDecimal held = holdService.getHeldAmount(accountNumber);
+
+        Map<String, BigDecimal> response = new LinkedHashMap<>();
+        response.put("balance", balance);
+        response.put("held", held);
+        response.put("available", balance.subtract(held));
+        return ResponseEntity.ok(response);
+    }
+}
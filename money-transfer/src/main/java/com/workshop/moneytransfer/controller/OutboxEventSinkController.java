@@ -0,0 +1,41 @@
+package com.workshop.moneytransfer.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for a downstream event consumer, the default target of the
+ * HTTP outbox sink. Accepts batches and only counts them. Only registered
+ * while the HTTP sink is enabled.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "outbox.http", name = "enabled", havingValue = "true")
+@RequestMapping("/internal/outbox-events")
+@Slf4j
+public class OutboxEventSinkController {
+
+    private final AtomicLong batchesReceived = new AtomicLong();
+    private final AtomicLong eventsReceived = new AtomicLong();
+
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody List<JsonNode> events) {
+        batchesReceived.incrementAndGet();
+        eventsReceived.addAndGet(events.size());
+        log.debug("Received {} outbox events", events.size());
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> stats() {
+        return ResponseEntity.ok(Map.of(
+                "batchesReceived", batchesReceived.get(),
+                "eventsReceived", eventsReceived.get()));
+    }
+}
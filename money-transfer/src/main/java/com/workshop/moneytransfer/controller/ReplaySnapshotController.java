@@ -0,0 +1,38 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Loads a capture's account snapshot into a fresh replay target. Only
+ * registered when the instance is started as a replay target, since it
+ * overwrites balances.
+ */
+@RestController
+@RequestMapping("/internal/replay")
+@ConditionalOnProperty(prefix = "replay", name = "snapshot-import-enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplaySnapshotController {
+
+    private final AccountService accountService;
+
+    @PostMapping(value = "/accounts", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Map<String, Integer>> importAccounts(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            int imported = accountService.importAccounts(reader.lines()::iterator);
+            return ResponseEntity.ok(Map.of("imported", imported));
+        }
+    }
+}
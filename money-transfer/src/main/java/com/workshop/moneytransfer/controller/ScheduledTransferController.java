@@ -0,0 +1,52 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.dto.ScheduleTransferRequest;
+import com.workshop.moneytransfer.model.ScheduledTransfer;
+import com.workshop.moneytransfer.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scheduled-transfers")
+@RequiredArgsConstructor
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    @PostMapping
+    public ResponseEntity<ScheduledTransfer> schedule(
+            @Valid @RequestBody ScheduleTransferRequest request) {
+
+        ScheduledTransfer instruction = scheduledTransferService.schedule(
+                request.getFromAccountNumber(),
+                request.getToAccountNumber(),
+                request.getAmount(),
+                request.getDescription(),
+                request.getExecuteAt(),
+                request.getRecurrence());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(instruction);
+    }
+
+    @GetMapping("/{instructionId}")
+    public ResponseEntity<ScheduledTransfer> getInstruction(@PathVariable String instructionId) {
+        return ResponseEntity.ok(scheduledTransferService.getInstruction(instructionId));
+    }
+
+    @GetMapping("/account/{accountNumber}")
+    public ResponseEntity<List<ScheduledTransfer>> getInstructionsForAccount(
+            @PathVariable String accountNumber) {
+
+        return ResponseEntity.ok(scheduledTransferService.getInstructionsForAccount(accountNumber));
+    }
+
+    @DeleteMapping("/{instructionId}")
+    public ResponseEntity<ScheduledTransfer> cancel(@PathVariable String instructionId) {
+        return ResponseEntity.ok(scheduledTransferService.cancel(instructionId));
+    }
+}
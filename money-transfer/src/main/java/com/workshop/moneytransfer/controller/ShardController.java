@@ -0,0 +1,56 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.dto.BulkStatusUpdateRequest;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateResponse;
+import com.workshop.moneytransfer.dto.ShardCreditRequest;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.service.AccountService;
+import com.workshop.moneytransfer.service.SagaStepService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Node-to-node endpoints, only registered on a sharded deployment.
+ * {@link com.workshop.moneytransfer.shard.ShardRoutingFilter} refuses any
+ * request here that is not signed by a peer node.
+ */
+@RestController
+@RequestMapping("/internal/shards")
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final SagaStepService sagaStepService;
+    private final AccountService accountService;
+    private final StreamingJsonWriter streamingJsonWriter;
+
+    @PostMapping("/credit")
+    public ResponseEntity<TransactionResponse> credit(@Valid @RequestBody ShardCreditRequest request) {
+        return ResponseEntity.ok(TransactionResponse.from(sagaStepService.credit(request)));
+    }
+
+    /**
+     * The part of a bulk status update that falls on this node.
+     */
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+
+        return ResponseEntity.ok(accountService.updateAccountStatuses(
+                request.getAccountNumbers(), request.getStatus()));
+    }
+
+    /**
+     * The accounts owned by this node only.
+     */
+    @GetMapping("/accounts")
+    public void getLocalAccounts(HttpServletResponse response) throws IOException {
+        streamingJsonWriter.writeArray(response, accountService::forEachAccountView);
+    }
+}
@@ -0,0 +1,71 @@
+package com.workshop.moneytransfer.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workshop.moneytransfer.exception.StreamingResponseAbortedException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array element by element straight to the response, so large
+ * lists are never materialised as a whole document in memory.
+ */
+@Component
+public class StreamingJsonWriter {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter elementWriter;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.elementWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * If {@code source} fails before anything reached the client, the buffer is
+     * discarded and the exception rethrown, so the usual error response is sent.
+     * Once the status line is out that is no longer possible; the array is left
+     * unterminated and a {@link StreamingResponseAbortedException} is thrown so
+     * the container drops the connection instead of finishing a truncated 200.
+     *
+     * @param source called once with a sink that writes each element it is given
+     */
+    public <T> void writeArray(HttpServletResponse response, Consumer<Consumer<T>> source)
+            throws IOException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Not try-with-resources: closing the generator would write the closing bracket
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        try {
+            generator.writeStartArray();
+            source.accept(element -> {
+                try {
+                    elementWriter.writeValue(generator, element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (RuntimeException | IOException e) {
+            if (response.isCommitted()) {
+                throw new StreamingResponseAbortedException(e);
+            }
+            response.resetBuffer();
+            throw e;
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.capture.TrafficRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/capture")
+@ConditionalOnProperty(prefix = "capture", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TrafficCaptureController {
+
+    private final TrafficRecorder recorder;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(recorder.status());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start() throws IOException {
+        return ResponseEntity.ok(recorder.start());
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop() throws InterruptedException {
+        return ResponseEntity.ok(recorder.stop());
+    }
+}
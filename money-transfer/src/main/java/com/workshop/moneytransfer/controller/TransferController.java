@@ -1,14 +1,18 @@
 package com.workshop.moneytransfer.controller;
 
+import com.workshop.moneytransfer.dto.TransactionResponse;
 import com.workshop.moneytransfer.dto.TransferRequest;
 import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.service.ShardedTransferService;
 import com.workshop.moneytransfer.service.TransferService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,23 +21,35 @@ import java.util.List;
 public class TransferController {
 
     private final TransferService transferService;
+    private final ShardedTransferService shardedTransferService;
+    private final StreamingJsonWriter streamingJsonWriter;
 
     @PostMapping
-    public ResponseEntity<Transaction> transfer(@Valid @RequestBody TransferRequest request) {
-        Transaction transaction = transferService.transfer(
+    public ResponseEntity<TransactionResponse> transfer(@Valid @RequestBody TransferRequest request) {
+        Transaction transaction = shardedTransferService.transfer(
                 request.getFromAccountNumber(),
                 request.getToAccountNumber(),
                 request.getAmount(),
                 request.getDescription());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+        return ResponseEntity.status(HttpStatus.CREATED).body(TransactionResponse.from(transaction));
     }
 
+    /**
+     * Full history, or only the {@code limit} most recent transactions.
+     */
     @GetMapping("/history/{accountNumber}")
-    public ResponseEntity<List<Transaction>> getTransactionHistory(
-            @PathVariable String accountNumber) {
-
-        List<Transaction> transactions = transferService.getTransactionHistory(accountNumber);
-        return ResponseEntity.ok(transactions);
+    public void getTransactionHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) Integer limit,
+            HttpServletResponse response) throws IOException {
+
+        if (limit != null) {
+            List<TransactionResponse> recent = transferService.getRecentTransactions(accountNumber, limit);
+            streamingJsonWriter.writeArray(response, recent::forEach);
+        } else {
+            streamingJsonWriter.<TransactionResponse>writeArray(response,
+                    sink -> transferService.forEachHistoryEntry(accountNumber, sink));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.workshop.moneytransfer.dto;
+
+import com.workshop.moneytransfer.model.Account;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-side view of an account. Also used as a JPQL constructor
+ * projection, so the field order matches the repository queries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountResponse {
+
+    private String accountNumber;
+
+    private String accountHolderName;
+
+    private BigDecimal balance;
+
+    private String currency;
+
+    private String status;
+
+    private String tier;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public static AccountResponse from(Account account) {
+        return new AccountResponse(
+                account.getAccountNumber(),
+                account.getAccountHolderName(),
+                account.getBalance(),
+                account.getCurrency(),
+                account.getStatus(),
+                account.getTier(),
+                account.getCreatedAt(),
+                account.getUpdatedAt());
+    }
+}
@@ -0,0 +1,35 @@
+package com.workshop.moneytransfer.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizeHoldRequest {
+
+    @NotBlank(message = "Source account number is required")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "Destination account number is required")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 14, fraction = 4, message = "Amount must have at most 4 decimal places")
+    private BigDecimal amount;
+
+    private String description;
+
+    // Defaults to holds.default-ttl-seconds
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+}
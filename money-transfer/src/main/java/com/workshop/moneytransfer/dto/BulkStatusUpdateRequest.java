@@ -0,0 +1,21 @@
+package com.workshop.moneytransfer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty(message = "At least one account number is required")
+    private List<String> accountNumbers;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
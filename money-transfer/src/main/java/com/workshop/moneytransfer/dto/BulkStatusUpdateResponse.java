@@ -0,0 +1,21 @@
+package com.workshop.moneytransfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+
+    private String status;
+
+    private int requested;
+
+    private int updated;
+
+    private List<String> notFound;
+}
@@ -0,0 +1,23 @@
+package com.workshop.moneytransfer.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureHoldRequest {
+
+    // Defaults to the full held amount
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 14, fraction = 4, message = "Amount must have at most 4 decimal places")
+    private BigDecimal amount;
+
+    // Defaults to the hold's description
+    private String description;
+}
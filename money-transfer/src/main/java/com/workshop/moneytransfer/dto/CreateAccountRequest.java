@@ -3,6 +3,7 @@ package com.workshop.moneytransfer.dto;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,4 +21,7 @@ public class CreateAccountRequest {
     @NotNull(message = "Initial balance is required")
     @DecimalMin(value = "0.0", message = "Initial balance cannot be negative")
     private BigDecimal initialBalance;
+
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a 3-letter ISO code")
+    private String currency;
 }
\ No newline at end of file
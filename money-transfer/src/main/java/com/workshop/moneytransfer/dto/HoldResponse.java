@@ -0,0 +1,55 @@
+package com.workshop.moneytransfer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.workshop.moneytransfer.hold.Hold;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HoldResponse {
+
+    private String holdId;
+
+    private String fromAccountNumber;
+
+    private String toAccountNumber;
+
+    private BigDecimal amount;
+
+    private String currency;
+
+    private String status;
+
+    private String description;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    // Set once captured
+    private BigDecimal capturedAmount;
+
+    private String transactionId;
+
+    public static HoldResponse from(Hold hold) {
+        return new HoldResponse(
+                hold.getHoldId(),
+                hold.getFromAccountNumber(),
+                hold.getToAccountNumber(),
+                hold.getAmount(),
+                hold.getCurrency(),
+                hold.getStatus(),
+                hold.getDescription(),
+                hold.getCreatedAt(),
+                hold.getExpiresAt(),
+                hold.getCapturedAmount(),
+                hold.getTransactionId());
+    }
+}
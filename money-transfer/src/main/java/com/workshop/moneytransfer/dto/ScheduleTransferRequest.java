@@ -0,0 +1,39 @@
+package com.workshop.moneytransfer.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleTransferRequest {
+
+    @NotBlank(message = "Source account number is required")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "Destination account number is required")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String description;
+
+    @NotNull(message = "Execution time is required")
+    @Future(message = "Execution time must be in the future")
+    private LocalDateTime executeAt;
+
+    @Pattern(regexp = "ONCE|DAILY|WEEKLY|MONTHLY",
+            message = "Recurrence must be one of ONCE, DAILY, WEEKLY, MONTHLY")
+    private String recurrence;
+}
@@ -0,0 +1,38 @@
+package com.workshop.moneytransfer.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Credit leg of a cross-shard transfer, sent by the node owning the source
+ * account to the node owning the destination account.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardCreditRequest {
+
+    @NotBlank
+    private String sagaId;
+
+    @NotBlank
+    private String fromAccountNumber;
+
+    @NotBlank
+    private String toAccountNumber;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    private BigDecimal amount;
+
+    @NotBlank
+    private String currency;
+
+    private String description;
+}
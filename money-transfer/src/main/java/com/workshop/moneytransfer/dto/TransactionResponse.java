@@ -0,0 +1,62 @@
+package com.workshop.moneytransfer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.workshop.moneytransfer.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-side view of a transaction. Also used as a JPQL constructor
+ * projection, so the field order matches the repository queries.
+ * Null FX and failure fields are left out of the JSON.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionResponse {
+
+    private String transactionId;
+
+    private String fromAccountNumber;
+
+    private String toAccountNumber;
+
+    private BigDecimal amount;
+
+    private String currency;
+
+    private BigDecimal exchangeRate;
+
+    private BigDecimal convertedAmount;
+
+    private String convertedCurrency;
+
+    private String status;
+
+    private String description;
+
+    private String failureReason;
+
+    private LocalDateTime transactionDate;
+
+    public static TransactionResponse from(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getTransactionId(),
+                transaction.getFromAccountNumber(),
+                transaction.getToAccountNumber(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getExchangeRate(),
+                transaction.getConvertedAmount(),
+                transaction.getConvertedCurrency(),
+                transaction.getStatus(),
+                transaction.getDescription(),
+                transaction.getFailureReason(),
+                transaction.getTransactionDate());
+    }
+}
@@ -23,6 +23,16 @@ public class GlobalExceptionHandler {
                 "ACCOUNT_NOT_FOUND");
     }
 
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleHoldNotFound(
+            HoldNotFoundException ex) {
+
+        return buildErrorResponse(
+                HttpStatus.NOT_FOUND,
+                ex.getMessage(),
+                "HOLD_NOT_FOUND");
+    }
+
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<Map<String, Object>> handleInsufficientFunds(
             InsufficientFundsException ex) {
@@ -33,6 +43,16 @@ public class GlobalExceptionHandler {
                 "INSUFFICIENT_FUNDS");
     }
 
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleVelocityLimitExceeded(
+            VelocityLimitExceededException ex) {
+
+        return buildErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                "VELOCITY_LIMIT_EXCEEDED");
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(
             IllegalArgumentException ex) {
@@ -71,6 +91,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(StreamingResponseAbortedException.class)
+    public void handleStreamingResponseAborted(StreamingResponseAbortedException ex) {
+        // Part of a 200 body is already out; rethrow so the connection is aborted
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneralException(Exception ex) {
         return buildErrorResponse(
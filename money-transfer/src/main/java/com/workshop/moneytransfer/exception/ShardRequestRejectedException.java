@@ -0,0 +1,25 @@
+package com.workshop.moneytransfer.exception;
+
+/**
+ * A peer node refused a request with a 4xx response. Unlike a timeout or
+ * 5xx, the outcome is known: the request was not applied.
+ */
+public class ShardRequestRejectedException extends RuntimeException {
+
+    private final int status;
+    private final String code;
+
+    public ShardRequestRejectedException(int status, String code, String message) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,13 @@
+package com.workshop.moneytransfer.exception;
+
+/**
+ * A streamed response failed after its status and first bytes were sent.
+ * No error body can follow, so this must reach the container, which then
+ * aborts the connection and the client sees an incomplete response.
+ */
+public class StreamingResponseAbortedException extends RuntimeException {
+
+    public StreamingResponseAbortedException(Throwable cause) {
+        super("Response aborted mid-stream", cause);
+    }
+}
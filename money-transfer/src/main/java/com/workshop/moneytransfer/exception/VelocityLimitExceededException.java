@@ -0,0 +1,12 @@
+package com.workshop.moneytransfer.exception;
+
+public class VelocityLimitExceededException extends RuntimeException {
+
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+
+    public VelocityLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
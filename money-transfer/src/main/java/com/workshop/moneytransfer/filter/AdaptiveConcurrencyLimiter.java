@@ -0,0 +1,167 @@
+package com.workshop.moneytransfer.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency.
+ * The limit follows a gradient of long-term vs. short-term RTT:
+ * when latency rises above the baseline the limit shrinks, when it
+ * stays flat the limit grows by roughly sqrt(limit) per sample.
+ * Failed requests back the limit off multiplicatively (AIMD).
+ *
+ * READ requests may use the whole limit, WRITE requests only
+ * {@code writeShare} of it, so balance reads keep flowing while
+ * transfers queue up behind a slow database.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { READ, WRITE }
+
+    private static final double LONG_RTT_WINDOW = 600;
+    private static final double SHORT_RTT_WINDOW = 10;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double writeShare;
+    private final int[] queueCapacity = new int[Priority.values().length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final int[] waiting = new int[Priority.values().length];
+    private final LongAdder[] rejected = new LongAdder[Priority.values().length];
+
+    private volatile double limit;
+    private volatile int inFlight;
+    private double longRtt;
+    private double shortRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+            double smoothing, double writeShare,
+            int readQueueCapacity, int writeQueueCapacity) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.writeShare = writeShare;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.queueCapacity[Priority.READ.ordinal()] = readQueueCapacity;
+        this.queueCapacity[Priority.WRITE.ordinal()] = writeQueueCapacity;
+        for (Priority priority : Priority.values()) {
+            rejected[priority.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     * Acquire a slot, waiting at most {@code maxWaitMillis} in the bounded
+     * queue of the given priority. Returns false if the request is shed.
+     */
+    public boolean acquire(Priority priority, long maxWaitMillis) {
+        int p = priority.ordinal();
+        lock.lock();
+        try {
+            if (canAdmit(priority)) {
+                inFlight++;
+                return true;
+            }
+            if (waiting[p] >= queueCapacity[p]) {
+                rejected[p].increment();
+                return false;
+            }
+
+            waiting[p]++;
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (!canAdmit(priority)) {
+                    if (remaining <= 0) {
+                        rejected[p].increment();
+                        return false;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected[p].increment();
+                return false;
+            } finally {
+                waiting[p]--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot and feed the observed latency into the limit.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        lock.lock();
+        try {
+            int utilised = inFlight;
+            inFlight--;
+            if (dropped) {
+                limit = clamp(limit * BACKOFF_RATIO);
+            } else {
+                onSample(rttNanos, utilised);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSample(long rttNanos, int utilised) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_RTT_WINDOW;
+        longRtt += (rtt - longRtt) / LONG_RTT_WINDOW;
+
+        // Latency has recovered well below the baseline: let the baseline catch up
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Don't grow the limit while the app isn't using it
+        if (utilised < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private boolean canAdmit(Priority priority) {
+        double available = priority == Priority.READ ? limit : limit * writeShare;
+        return inFlight < Math.max(1, (int) available);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getRejectedCount(Priority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+}
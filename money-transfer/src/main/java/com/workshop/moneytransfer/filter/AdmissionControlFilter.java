@@ -0,0 +1,88 @@
+package com.workshop.moneytransfer.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.moneytransfer.config.AdmissionControlProperties;
+import com.workshop.moneytransfer.filter.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control in front of the account and transfer APIs.
+ * GET requests (balance, account and history reads) are admitted as READ,
+ * everything else as WRITE. Requests that can't get a slot within their
+ * queue's wait budget are shed with 503 and Retry-After.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(path.startsWith("/api/transfers") || path.startsWith("/api/accounts"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Priority priority = "GET".equals(request.getMethod()) ? Priority.READ : Priority.WRITE;
+        long maxWaitMs = priority == Priority.READ
+                ? properties.getReadMaxWaitMs()
+                : properties.getWriteMaxWaitMs();
+
+        if (!limiter.acquire(priority, maxWaitMs)) {
+            log.warn("Shedding {} {} (limit: {})",
+                    request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            writeOverloaded(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private void writeOverloaded(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Server is overloaded, please retry later");
+        body.put("code", "SERVICE_OVERLOADED");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
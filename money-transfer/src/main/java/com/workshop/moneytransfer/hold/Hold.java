@@ -0,0 +1,76 @@
+package com.workshop.moneytransfer.hold;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An authorization reserving funds on the source account until it is
+ * captured, voided or expires. Lives in memory only; state changes are
+ * journaled by {@link HoldJournal}.
+ */
+@Getter
+public class Hold {
+
+    public static final String AUTHORIZED = "AUTHORIZED";
+    public static final String CAPTURING = "CAPTURING";
+    public static final String CAPTURED = "CAPTURED";
+    public static final String VOIDED = "VOIDED";
+    public static final String EXPIRED = "EXPIRED";
+
+    private final String holdId;
+    private final String fromAccountNumber;
+    private final String toAccountNumber;
+    private final BigDecimal amount;
+    private final String currency;
+    private final String description;
+    private final Instant createdAt;
+    private final Instant expiresAt;
+
+    private volatile BigDecimal capturedAmount;
+    private volatile String transactionId;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<String> status = new AtomicReference<>(AUTHORIZED);
+
+    public Hold(String holdId, String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+            String currency, String description, Instant createdAt, Instant expiresAt) {
+        this.holdId = holdId;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getStatus() {
+        return status.get();
+    }
+
+    public long getAmountMinor() {
+        return ReservationLedger.toMinorUnits(amount);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Move from {@code expected} to {@code next}; only one caller can win a
+     * given transition.
+     */
+    boolean transition(String expected, String next) {
+        return status.compareAndSet(expected, next);
+    }
+
+    void captured(String transactionId, BigDecimal capturedAmount) {
+        this.transactionId = transactionId;
+        this.capturedAmount = capturedAmount;
+        status.set(CAPTURED);
+    }
+}
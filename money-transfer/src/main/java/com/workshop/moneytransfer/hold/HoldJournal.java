@@ -0,0 +1,163 @@
+package com.workshop.moneytransfer.hold;
+
+import com.workshop.moneytransfer.config.HoldProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of hold state changes, replayed at startup to rebuild the
+ * open holds. One line per change:
+ * <pre>
+ *   A|holdId|from|to|amount|currency|createdAtMillis|expiresAtMillis|base64(description)
+ *   C|holdId|transactionId
+ *   V|holdId
+ *   E|holdId
+ * </pre>
+ * A torn last line from a crash is ignored. After recovery the journal is
+ * rewritten with only the holds still open.
+ */
+@Component
+@Slf4j
+public class HoldJournal {
+
+    private final Path path;
+    private final boolean sync;
+    private FileChannel channel;
+
+    public HoldJournal(HoldProperties properties) {
+        this.path = Paths.get(properties.getJournalPath());
+        this.sync = properties.isJournalSync();
+    }
+
+    public void authorized(Hold hold) {
+        append(String.join("|", "A", hold.getHoldId(), hold.getFromAccountNumber(),
+                hold.getToAccountNumber(), hold.getAmount().toPlainString(), hold.getCurrency(),
+                Long.toString(hold.getCreatedAt().toEpochMilli()),
+                Long.toString(hold.getExpiresAt().toEpochMilli()),
+                encode(hold.getDescription())));
+    }
+
+    public void captured(Hold hold) {
+        append("C|" + hold.getHoldId() + "|" + hold.getTransactionId());
+    }
+
+    public void voided(Hold hold) {
+        append("V|" + hold.getHoldId());
+    }
+
+    public void expired(Hold hold) {
+        append("E|" + hold.getHoldId());
+    }
+
+    /**
+     * @return holds authorized and not yet captured, voided or expired, in journal order
+     */
+    public synchronized List<Hold> recover() throws IOException {
+        Map<String, Hold> open = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\\|", -1);
+                try {
+                    if ("A".equals(fields[0]) && fields.length == 9) {
+                        open.put(fields[1], new Hold(fields[1], fields[2], fields[3],
+                                new BigDecimal(fields[4]), fields[5], decode(fields[8]),
+                                Instant.ofEpochMilli(Long.parseLong(fields[6])),
+                                Instant.ofEpochMilli(Long.parseLong(fields[7]))));
+                    } else if (fields.length >= 2) {
+                        open.remove(fields[1]);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Skipping unreadable hold journal line: {}", line);
+                }
+            }
+        }
+        return List.copyOf(open.values());
+    }
+
+    /**
+     * Replace the journal with authorization records for {@code open} only.
+     */
+    public synchronized void compact(Collection<Hold> open) throws IOException {
+        closeChannel();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            this.channel = out;
+            for (Hold hold : open) {
+                authorized(hold);
+            }
+            out.force(true);
+        } finally {
+            this.channel = null;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        closeChannel();
+    }
+
+    private synchronized void append(String line) {
+        try {
+            if (channel == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write hold journal " + path, e);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return value.isEmpty() ? null : new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
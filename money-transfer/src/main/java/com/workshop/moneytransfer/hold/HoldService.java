@@ -0,0 +1,248 @@
+package com.workshop.moneytransfer.hold;
+
+import com.workshop.moneytransfer.config.HoldProperties;
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.exception.AccountNotFoundException;
+import com.workshop.moneytransfer.exception.HoldNotFoundException;
+import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import com.workshop.moneytransfer.scheduler.HierarchicalTimerWheel;
+import com.workshop.moneytransfer.service.TransferService;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authorize, capture and void holds.
+ * An authorization only reserves funds in the {@link ReservationLedger}; the
+ * account row is untouched until capture, which settles through a normal
+ * transfer whose transaction id is the hold id. Holds that reach their
+ * expiry while still authorized are released by a timer wheel. Settled holds
+ * stay queryable until their original expiry. On a sharded deployment both
+ * accounts must live on the same node, since capture is a local transfer.
+ *
+ * The reservation itself is lock-free, but an authorization is not: it
+ * reads the balance, appends to the journal under the journal's monitor
+ * (with an fsync when journal sync is on) and schedules its expiry on the
+ * synchronized timer wheel, so concurrent authorizations queue on those.
+ */
+@Service
+@Slf4j
+public class HoldService {
+
+    private final ReservationLedger ledger;
+    private final HoldJournal journal;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferService transferService;
+    private final ShardRouter shardRouter;
+    private final HoldProperties properties;
+
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final HierarchicalTimerWheel<String> expiryWheel;
+
+    public HoldService(ReservationLedger ledger, HoldJournal journal,
+            AccountRepository accountRepository, TransactionRepository transactionRepository,
+            TransferService transferService, ShardRouter shardRouter, HoldProperties properties) {
+        this.ledger = ledger;
+        this.journal = journal;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferService = transferService;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+        this.expiryWheel = new HierarchicalTimerWheel<>(
+                properties.getExpiryTickMs(), properties.getExpiryWheelSize(), System.currentTimeMillis());
+    }
+
+    public Hold authorize(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+            String description, Long ttlSeconds) {
+
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Hold amount must be positive");
+        }
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new IllegalArgumentException("Source and destination accounts must differ");
+        }
+        if (!shardRouter.isLocal(toAccountNumber)) {
+            throw new IllegalStateException(
+                    "Holds to an account on another node are not supported: " + toAccountNumber);
+        }
+        if (!accountRepository.existsByAccountNumber(toAccountNumber)) {
+            throw new AccountNotFoundException("Destination account not found: " + toAccountNumber);
+        }
+        long ttl = ttlSeconds != null ? ttlSeconds : properties.getDefaultTtlSeconds();
+        if (ttl <= 0 || ttl > properties.getMaxTtlSeconds()) {
+            throw new IllegalArgumentException(
+                    "Hold TTL must be between 1 and " + properties.getMaxTtlSeconds() + " seconds");
+        }
+        long amountMinor = ReservationLedger.toMinorUnits(amount);
+
+        // Reserve first, then check against a balance read afterwards (see ReservationLedger)
+        long totalReserved = ledger.reserve(fromAccountNumber, amountMinor);
+        AccountResponse account;
+        try {
+            account = accountRepository.findViewByAccountNumber(fromAccountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException(
+                            "Source account not found: " + fromAccountNumber));
+            if (!"ACTIVE".equals(account.getStatus())) {
+                throw new IllegalStateException("Source account is not active");
+            }
+            ReservationLedger.requireCurrencyScale(amount, account.getCurrency());
+            if (ReservationLedger.balanceMinorUnits(account.getBalance()) - totalReserved < 0) {
+                throw new InsufficientFundsException(String.format(
+                        "Insufficient available funds in account %s. Balance: %s, Reserved: %s, Required: %s",
+                        fromAccountNumber, account.getBalance(),
+                        ReservationLedger.fromMinorUnits(totalReserved - amountMinor), amount));
+            }
+        } catch (RuntimeException e) {
+            ledger.release(fromAccountNumber, amountMinor);
+            throw e;
+        }
+
+        Instant now = Instant.now();
+        Hold hold = new Hold(shardRouter.newId(), fromAccountNumber, toAccountNumber,
+                amount, account.getCurrency(), description, now, now.plusSeconds(ttl));
+        try {
+            journal.authorized(hold);
+        } catch (RuntimeException e) {
+            ledger.release(fromAccountNumber, amountMinor);
+            throw e;
+        }
+        track(hold);
+
+        log.info("Authorized hold {} of {} on account {}", hold.getHoldId(), amount, fromAccountNumber);
+        return hold;
+    }
+
+    /**
+     * Settle a hold with one transfer of {@code amount} (the full hold if
+     * null). Any uncaptured remainder is released.
+     */
+    public Hold capture(String holdId, BigDecimal amount, String description) {
+        Hold hold = getHold(holdId);
+        BigDecimal captureAmount = amount != null ? amount : hold.getAmount();
+        if (captureAmount.compareTo(BigDecimal.ZERO) <= 0 || captureAmount.compareTo(hold.getAmount()) > 0) {
+            throw new IllegalArgumentException("Capture amount must be positive and at most " + hold.getAmount());
+        }
+        if (!hold.transition(Hold.AUTHORIZED, Hold.CAPTURING)) {
+            throw new IllegalStateException("Hold " + holdId + " is " + hold.getStatus());
+        }
+        if (hold.isExpiredAt(Instant.now())) {
+            expire(hold, Hold.CAPTURING);
+            throw new IllegalStateException("Hold " + holdId + " has expired");
+        }
+
+        Transaction transaction;
+        try {
+            // Funds stay reserved by the hold until the transfer has committed
+            transaction = transferService.transferHeldFunds(holdId, hold.getFromAccountNumber(),
+                    hold.getToAccountNumber(), captureAmount,
+                    description != null ? description : hold.getDescription());
+        } catch (RuntimeException e) {
+            hold.transition(Hold.CAPTURING, Hold.AUTHORIZED);
+            throw e;
+        }
+
+        hold.captured(transaction.getTransactionId(), captureAmount);
+        ledger.release(hold.getFromAccountNumber(), hold.getAmountMinor());
+        journal.captured(hold);
+
+        log.info("Captured hold {}: {} of {}", holdId, captureAmount, hold.getAmount());
+        return hold;
+    }
+
+    public Hold voidHold(String holdId) {
+        Hold hold = getHold(holdId);
+        if (!hold.transition(Hold.AUTHORIZED, Hold.VOIDED)) {
+            throw new IllegalStateException("Hold " + holdId + " is " + hold.getStatus());
+        }
+        ledger.release(hold.getFromAccountNumber(), hold.getAmountMinor());
+        journal.voided(hold);
+
+        log.info("Voided hold {}", holdId);
+        return hold;
+    }
+
+    public Hold getHold(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new HoldNotFoundException("Hold not found: " + holdId);
+        }
+        return hold;
+    }
+
+    public BigDecimal getHeldAmount(String accountNumber) {
+        return ReservationLedger.fromMinorUnits(ledger.heldMinor(accountNumber));
+    }
+
+    @Scheduled(fixedDelayString = "${holds.expiry-tick-ms:1000}")
+    public void expireDueHolds() {
+        for (String holdId : expiryWheel.advance(System.currentTimeMillis())) {
+            Hold hold = holds.get(holdId);
+            if (hold == null) {
+                continue;
+            }
+            if (Hold.AUTHORIZED.equals(hold.getStatus()) || Hold.CAPTURING.equals(hold.getStatus())) {
+                if (!expire(hold, Hold.AUTHORIZED)) {
+                    // Capture in progress, look again next tick
+                    expiryWheel.schedule(holdId, System.currentTimeMillis() + properties.getExpiryTickMs());
+                    continue;
+                }
+            }
+            holds.remove(holdId);
+        }
+    }
+
+    /**
+     * Rebuild open holds from the journal. A hold whose capture committed
+     * but wasn't journaled is recognised by its transaction and settled.
+     * Runs before the web server accepts requests, so nothing appends to
+     * the journal while it is being compacted.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        Instant now = Instant.now();
+        List<Hold> open = new ArrayList<>();
+        for (Hold hold : journal.recover()) {
+            if (transactionRepository.findByTransactionId(hold.getHoldId()).isPresent()) {
+                log.info("Hold {} was captured before shutdown", hold.getHoldId());
+            } else if (!hold.isExpiredAt(now)) {
+                ledger.reserve(hold.getFromAccountNumber(), hold.getAmountMinor());
+                track(hold);
+                open.add(hold);
+            }
+        }
+        journal.compact(open);
+        if (!open.isEmpty()) {
+            log.info("Recovered {} open holds from journal", open.size());
+        }
+    }
+
+    private void track(Hold hold) {
+        holds.put(hold.getHoldId(), hold);
+        expiryWheel.schedule(hold.getHoldId(), hold.getExpiresAt().toEpochMilli());
+    }
+
+    private boolean expire(Hold hold, String expected) {
+        if (!hold.transition(expected, Hold.EXPIRED)) {
+            return false;
+        }
+        ledger.release(hold.getFromAccountNumber(), hold.getAmountMinor());
+        journal.expired(hold);
+        log.info("Hold {} expired", hold.getHoldId());
+        return true;
+    }
+}
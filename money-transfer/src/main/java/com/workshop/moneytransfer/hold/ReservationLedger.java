@@ -0,0 +1,150 @@
+package com.workshop.moneytransfer.hold;
+
+import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.model.Account;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Funds reserved against each account, held only in memory. Open holds and
+ * in-flight transfers are counted separately, so the held amount reported
+ * for an account covers holds only; available balance for a new
+ * reservation is the stored balance minus both.
+ *
+ * Amounts are kept as whole ten-thousandths of the account's currency,
+ * fine enough for the minor unit of any ISO 4217 currency; an amount finer
+ * than its own currency's minor unit is rejected.
+ *
+ * Every reservation is added to its counter first and checked against the
+ * total reserved afterwards, and backed out if it doesn't fit. Of any two
+ * concurrent reservations, the later one to add therefore sees both, so
+ * available balance can't be driven negative. Counters are updated with
+ * per-key atomic merges, so reserving takes no lock of its own, and an
+ * account's counter is removed once nothing is reserved against it. A
+ * transfer reserves its amount for the life of its database transaction
+ * and releases it after completion; by then a committed debit is already
+ * in the balance, so for a moment it is counted twice, never zero times.
+ */
+@Component
+public class ReservationLedger {
+
+    // Ten-thousandths of a unit: CLF and UYW have 4 decimals, most currencies 2 or fewer
+    private static final int UNIT_SCALE = 4;
+
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Reserve funds for a hold.
+     *
+     * @return everything reserved against the account, holds and transfers, including this one
+     */
+    public long reserve(String accountNumber, long amountMinor) {
+        add(held, accountNumber, amountMinor);
+        return totalReservedMinor(accountNumber);
+    }
+
+    public void release(String accountNumber, long amountMinor) {
+        add(held, accountNumber, -amountMinor);
+    }
+
+    /**
+     * Funds reserved by open holds, excluding transfers in progress.
+     */
+    public long heldMinor(String accountNumber) {
+        return held.getOrDefault(accountNumber, 0L);
+    }
+
+    /**
+     * Reserve a transfer's amount until its transaction completes. The
+     * account must be locked by the caller, so its balance is current.
+     *
+     * @throws IllegalArgumentException if the amount is finer than the account currency's minor unit
+     * @throws InsufficientFundsException if the balance doesn't cover it
+     *         on top of what is already reserved
+     */
+    public void reserveForTransfer(Account account, BigDecimal amount) {
+        String accountNumber = account.getAccountNumber();
+        requireCurrencyScale(amount, account.getCurrency());
+        long amountMinor = toMinorUnits(amount);
+        add(inFlight, accountNumber, amountMinor);
+        long total = totalReservedMinor(accountNumber);
+
+        if (balanceMinorUnits(account.getBalance()) - total < 0) {
+            add(inFlight, accountNumber, -amountMinor);
+            throw new InsufficientFundsException(String.format(
+                    "Insufficient available funds in account %s. Balance: %s, Reserved: %s, Required: %s",
+                    accountNumber, account.getBalance(), fromMinorUnits(total - amountMinor), amount));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    add(inFlight, accountNumber, -amountMinor);
+                }
+            });
+        } else {
+            add(inFlight, accountNumber, -amountMinor);
+        }
+    }
+
+    /**
+     * Accounts with anything reserved, holds or transfers.
+     */
+    int trackedAccounts() {
+        Set<String> accounts = new HashSet<>(held.keySet());
+        accounts.addAll(inFlight.keySet());
+        return accounts.size();
+    }
+
+    private long totalReservedMinor(String accountNumber) {
+        return held.getOrDefault(accountNumber, 0L) + inFlight.getOrDefault(accountNumber, 0L);
+    }
+
+    private static void add(Map<String, Long> counters, String accountNumber, long amountMinor) {
+        counters.merge(accountNumber, amountMinor, (current, delta) -> {
+            long next = current + delta;
+            return next != 0 ? next : null;
+        });
+    }
+
+    /**
+     * @throws IllegalArgumentException if the amount has more decimal places than the currency's minor unit
+     */
+    public static void requireCurrencyScale(BigDecimal amount, String currency) {
+        int digits = Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+        if (amount.stripTrailingZeros().scale() > digits) {
+            throw new IllegalArgumentException(String.format(
+                    "Amount must have at most %d decimal places for %s: %s", digits, currency, amount));
+        }
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.setScale(UNIT_SCALE, RoundingMode.UNNECESSARY).movePointRight(UNIT_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + UNIT_SCALE + " decimal places: " + amount);
+        }
+    }
+
+    // Balances are rounded down so an odd fractional balance never overstates what is available
+    public static long balanceMinorUnits(BigDecimal balance) {
+        return balance.movePointRight(UNIT_SCALE).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    // Shown with at least 2 decimals, like stored balances
+    public static BigDecimal fromMinorUnits(long amountMinor) {
+        BigDecimal amount = BigDecimal.valueOf(amountMinor, UNIT_SCALE).stripTrailingZeros();
+        return amount.scale() < 2 ? amount.setScale(2) : amount;
+    }
+}
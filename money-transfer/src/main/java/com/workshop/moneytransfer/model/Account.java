@@ -40,6 +40,9 @@ public class Account {
     @Column(nullable = false)
     private String status; // ACTIVE, INACTIVE, BLOCKED
 
+    @Column(nullable = false)
+    private String tier; // STANDARD, PREMIUM
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -50,6 +53,9 @@ public class Account {
         if (currency == null) {
             currency = "USD";
         }
+        if (tier == null) {
+            tier = "STANDARD";
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,47 @@
+package com.workshop.moneytransfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency record for one applied saga step. The unique key on
+ * (sagaId, step) makes a retried step a no-op.
+ */
+@Entity
+@Table(name = "saga_steps", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_saga_steps_saga_step", columnNames = {"sagaId", "step"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaStep {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sagaId;
+
+    @Column(nullable = false)
+    private String step; // DEBIT, CREDIT, REFUND
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime appliedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        appliedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,95 @@
+package com.workshop.moneytransfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_transfers", indexes = {
+        @Index(name = "idx_scheduled_status_next", columnList = "status, nextExecutionAt"),
+        @Index(name = "idx_scheduled_from_account", columnList = "fromAccountNumber")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String instructionId;
+
+    @Column(nullable = false)
+    private String fromAccountNumber;
+
+    @Column(nullable = false)
+    private String toAccountNumber;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column
+    private String description;
+
+    @Column(nullable = false)
+    private String recurrence; // ONCE, DAILY, WEEKLY, MONTHLY
+
+    @Column
+    private LocalDateTime nextExecutionAt;
+
+    @Column(nullable = false)
+    private String status; // ACTIVE, COMPLETED, FAILED, CANCELLED
+
+    @Column(nullable = false)
+    private int executionCount;
+
+    @Column
+    private LocalDateTime lastExecutedAt;
+
+    @Column
+    private String lastTransactionId;
+
+    @Column
+    private String lastFailureReason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = "ACTIVE";
+        }
+        if (recurrence == null) {
+            recurrence = "ONCE";
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * The occurrence following {@code occurrence}, or null for one-off instructions.
+     */
+    public LocalDateTime occurrenceAfter(LocalDateTime occurrence) {
+        return switch (recurrence) {
+            case "DAILY" -> occurrence.plusDays(1);
+            case "WEEKLY" -> occurrence.plusWeeks(1);
+            case "MONTHLY" -> occurrence.plusMonths(1);
+            default -> null;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.workshop.moneytransfer.model;
 
+import com.workshop.moneytransfer.service.FxRateTable;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,7 +10,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_partition", columnList = "partitionMonth, id"),
+        @Index(name = "idx_transactions_from", columnList = "fromAccountNumber, transactionDate"),
+        @Index(name = "idx_transactions_to", columnList = "toAccountNumber, transactionDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +39,17 @@ public class Transaction {
     @Column(nullable = false)
     private String currency;
 
+    // Set only for cross-currency transfers
+    @Column(precision = 19, scale = FxRateTable.RATE_SCALE)
+    private BigDecimal exchangeRate;
+
+    // Rounded to the target currency's minor unit, which can be up to 3 decimals (BHD, KWD)
+    @Column(precision = 19, scale = 4)
+    private BigDecimal convertedAmount;
+
+    @Column
+    private String convertedCurrency;
+
     @Column(nullable = false)
     private String status; // SUCCESS, FAILED, PENDING
 
@@ -46,11 +62,20 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime transactionDate;
 
+    // Monthly partition key (yyyyMM) derived from transactionDate
+    @Column(nullable = false)
+    private Integer partitionMonth;
+
     @PrePersist
     protected void onCreate() {
         transactionDate = LocalDateTime.now();
+        partitionMonth = partitionOf(transactionDate);
         if (status == null) {
             status = "PENDING";
         }
     }
+
+    public static int partitionOf(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.workshop.moneytransfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Coordinator-side state of a cross-shard transfer. Lives on the node that
+ * owns the source account.
+ */
+@Entity
+@Table(name = "transfer_sagas", indexes = {
+        @Index(name = "idx_transfer_sagas_status", columnList = "status, updatedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String sagaId;
+
+    @Column(nullable = false)
+    private String fromAccountNumber;
+
+    @Column(nullable = false)
+    private String toAccountNumber;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private String currency;
+
+    @Column
+    private String description;
+
+    @Column(nullable = false)
+    private String status; // DEBITED, COMPLETED, COMPENSATED
+
+    @Column(nullable = false)
+    private int creditAttempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
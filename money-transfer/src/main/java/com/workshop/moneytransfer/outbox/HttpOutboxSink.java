@@ -0,0 +1,45 @@
+package com.workshop.moneytransfer.outbox;
+
+import com.workshop.moneytransfer.config.OutboxProperties;
+import com.workshop.moneytransfer.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array. Any non-2xx response fails the batch.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbox.http", name = "enabled", havingValue = "true")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    public HttpOutboxSink(RestClient.Builder restClientBuilder, OutboxProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getHttp().getTimeoutMs());
+        requestFactory.setReadTimeout(properties.getHttp().getTimeoutMs());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.url = properties.getHttp().getUrl();
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
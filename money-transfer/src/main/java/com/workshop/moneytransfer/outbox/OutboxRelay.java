@@ -0,0 +1,124 @@
+package com.workshop.moneytransfer.outbox;
+
+import com.workshop.moneytransfer.config.OutboxProperties;
+import com.workshop.moneytransfer.model.OutboxEvent;
+import com.workshop.moneytransfer.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the outbox and hands undelivered events to every configured sink in
+ * batches. Events are marked published only after all sinks accept the
+ * batch; a failure or crash before that means the batch is sent again, so
+ * delivery is at-least-once and consumers de-duplicate on eventId.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    private final Map<String, Counter> deliveredCounters = new HashMap<>();
+    private final Map<String, Counter> failureCounters = new HashMap<>();
+    private final Timer batchTimer;
+    // Age of the oldest undelivered event seen on the last poll
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSink> sinks,
+            TransactionTemplate transactionTemplate, OutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        for (OutboxSink sink : sinks) {
+            deliveredCounters.put(sink.getName(), Counter.builder("outbox.relay.delivered")
+                    .description("Events accepted by the sink")
+                    .tag("sink", sink.getName())
+                    .register(meterRegistry));
+            failureCounters.put(sink.getName(), Counter.builder("outbox.relay.failures")
+                    .description("Batches the sink failed to accept")
+                    .tag("sink", sink.getName())
+                    .register(meterRegistry));
+        }
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to deliver one batch to all sinks")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!properties.isEnabled() || sinks.isEmpty()) {
+            return;
+        }
+        int delivered;
+        do {
+            delivered = relayBatch();
+        } while (delivered == properties.getBatchSize());
+    }
+
+    /**
+     * @return number of events delivered, 0 if there was nothing to send or a sink failed
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublished(
+                PageRequest.of(0, properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0,
+                Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis()));
+
+        Timer.Sample sample = Timer.start();
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(batch);
+            } catch (Exception e) {
+                failureCounters.get(sink.getName()).increment();
+                log.warn("Outbox sink {} failed on batch of {} events starting at id {}: {}",
+                        sink.getName(), batch.size(), batch.get(0).getId(), e.getMessage());
+                return 0;
+            }
+            deliveredCounters.get(sink.getName()).increment(batch.size());
+        }
+        sample.stop(batchTimer);
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(
+                tx -> outboxEventRepository.markPublished(ids, LocalDateTime.now()));
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelay = 3600000)
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(properties.getRetentionHours());
+        Integer deleted = transactionTemplate.execute(
+                tx -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} delivered outbox events", deleted);
+        }
+    }
+}
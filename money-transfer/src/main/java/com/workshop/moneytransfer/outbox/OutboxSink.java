@@ -0,0 +1,17 @@
+package com.workshop.moneytransfer.outbox;
+
+import com.workshop.moneytransfer.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A downstream destination for outbox events. A batch counts as delivered
+ * only when {@link #deliver} returns normally; anything thrown makes the
+ * relay send the whole batch again, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    void deliver(List<OutboxEvent> events) throws Exception;
+}
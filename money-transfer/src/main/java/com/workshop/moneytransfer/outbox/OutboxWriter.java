@@ -0,0 +1,44 @@
+package com.workshop.moneytransfer.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.model.OutboxEvent;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Appends transfer events to the outbox. Must run inside the transaction
+ * that records the transfer, so the event exists if and only if it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    public static final String TRANSFER_COMPLETED = "TRANSFER_COMPLETED";
+    public static final String TRANSFER_FAILED = "TRANSFER_FAILED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String eventType, Transaction transaction) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setEventType(eventType);
+        event.setAggregateId(transaction.getTransactionId());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(TransactionResponse.from(transaction)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event for "
+                    + transaction.getTransactionId(), e);
+        }
+        outboxEventRepository.save(event);
+    }
+}
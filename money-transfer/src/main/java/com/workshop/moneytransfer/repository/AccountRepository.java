@@ -1,14 +1,23 @@
 package com.workshop.moneytransfer.repository;
 
+import com.workshop.moneytransfer.dto.AccountResponse;
 import com.workshop.moneytransfer.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -20,4 +29,34 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
 
     boolean existsByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<BigDecimal> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT new com.workshop.moneytransfer.dto.AccountResponse("
+            + "a.accountNumber, a.accountHolderName, a.balance, a.currency, a.status, a.tier, "
+            + "a.createdAt, a.updatedAt) "
+            + "FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountResponse> findViewByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.workshop.moneytransfer.dto.AccountResponse("
+            + "a.accountNumber, a.accountHolderName, a.balance, a.currency, a.status, a.tier, "
+            + "a.createdAt, a.updatedAt) "
+            + "FROM Account a ORDER BY a.id")
+    Stream<AccountResponse> streamAllViews();
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<String> findExistingAccountNumbers(
+            @Param("accountNumbers") Collection<String> accountNumbers);
+
+    // Bulk JPQL bypasses @PreUpdate, so updatedAt is set explicitly
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.status = :status, a.updatedAt = :updatedAt "
+            + "WHERE a.accountNumber IN :accountNumbers")
+    int updateStatusByAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers,
+            @Param("status") String status,
+            @Param("updatedAt") LocalDateTime updatedAt);
 }
\ No newline at end of file
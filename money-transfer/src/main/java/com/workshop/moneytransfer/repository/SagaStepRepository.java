@@ -0,0 +1,11 @@
+package com.workshop.moneytransfer.repository;
+
+import com.workshop.moneytransfer.model.SagaStep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SagaStepRepository extends JpaRepository<SagaStep, Long> {
+
+    boolean existsBySagaIdAndStep(String sagaId, String step);
+}
@@ -0,0 +1,60 @@
+package com.workshop.moneytransfer.repository;
+
+import com.workshop.moneytransfer.model.ScheduledTransfer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    interface DueInstruction {
+        Long getId();
+
+        LocalDateTime getNextExecutionAt();
+    }
+
+    Optional<ScheduledTransfer> findByInstructionId(String instructionId);
+
+    List<ScheduledTransfer> findByFromAccountNumberOrderByNextExecutionAt(String fromAccountNumber);
+
+    /**
+     * Active instructions due before {@code until}, keyset-paged by id.
+     */
+    @Query("SELECT s.id AS id, s.nextExecutionAt AS nextExecutionAt FROM ScheduledTransfer s "
+            + "WHERE s.status = 'ACTIVE' AND s.nextExecutionAt < :until AND s.id > :afterId "
+            + "ORDER BY s.id")
+    List<DueInstruction> findDueBefore(@Param("until") LocalDateTime until,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Consume one occurrence of an instruction. Matches only if the instruction
+     * is still active and still at {@code occurrence}, so the same occurrence
+     * can never be claimed twice.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.nextExecutionAt = :next, s.status = :status, "
+            + "s.executionCount = s.executionCount + 1, s.lastExecutedAt = :now, "
+            + "s.lastTransactionId = :transactionId, s.lastFailureReason = :failureReason, "
+            + "s.updatedAt = :now "
+            + "WHERE s.id = :id AND s.status = 'ACTIVE' AND s.nextExecutionAt = :occurrence")
+    int claimOccurrence(@Param("id") Long id,
+            @Param("occurrence") LocalDateTime occurrence,
+            @Param("next") LocalDateTime next,
+            @Param("status") String status,
+            @Param("transactionId") String transactionId,
+            @Param("failureReason") String failureReason,
+            @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ScheduledTransfer s SET s.lastTransactionId = :transactionId WHERE s.id = :id")
+    int recordTransactionId(@Param("id") Long id, @Param("transactionId") String transactionId);
+}
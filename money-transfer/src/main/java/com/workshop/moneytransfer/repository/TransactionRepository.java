@@ -1,10 +1,18 @@
 package com.workshop.moneytransfer.repository;
 
+import com.workshop.moneytransfer.dto.TransactionResponse;
 import com.workshop.moneytransfer.model.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -13,7 +21,58 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             String fromAccountNumber,
             String toAccountNumber);
 
+    /**
+     * Full history of an account, oldest first, read through a cursor.
+     * Must be consumed and closed inside a transaction.
+     */
+    @Query("SELECT new com.workshop.moneytransfer.dto.TransactionResponse("
+            + "t.transactionId, t.fromAccountNumber, t.toAccountNumber, t.amount, t.currency, "
+            + "t.exchangeRate, t.convertedAmount, t.convertedCurrency, t.status, t.description, "
+            + "t.failureReason, t.transactionDate) "
+            + "FROM Transaction t "
+            + "WHERE t.fromAccountNumber = :accountNumber OR t.toAccountNumber = :accountNumber "
+            + "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionResponse> streamHistoryViews(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Most recent transactions on one side of an account, newest first.
+     * Split in two so each side is served by its own index instead of an OR scan.
+     */
+    @Query("SELECT new com.workshop.moneytransfer.dto.TransactionResponse("
+            + "t.transactionId, t.fromAccountNumber, t.toAccountNumber, t.amount, t.currency, "
+            + "t.exchangeRate, t.convertedAmount, t.convertedCurrency, t.status, t.description, "
+            + "t.failureReason, t.transactionDate) "
+            + "FROM Transaction t WHERE t.fromAccountNumber = :accountNumber "
+            + "ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findRecentOutgoingViews(@Param("accountNumber") String accountNumber,
+            Pageable pageable);
+
+    @Query("SELECT new com.workshop.moneytransfer.dto.TransactionResponse("
+            + "t.transactionId, t.fromAccountNumber, t.toAccountNumber, t.amount, t.currency, "
+            + "t.exchangeRate, t.convertedAmount, t.convertedCurrency, t.status, t.description, "
+            + "t.failureReason, t.transactionDate) "
+            + "FROM Transaction t WHERE t.toAccountNumber = :accountNumber "
+            + "ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findRecentIncomingViews(@Param("accountNumber") String accountNumber,
+            Pageable pageable);
+
+    Optional<Transaction> findByTransactionId(String transactionId);
+
     List<Transaction> findByFromAccountNumber(String fromAccountNumber);
 
     List<Transaction> findByToAccountNumber(String toAccountNumber);
+
+    List<Transaction> findTop1000ByStatusAndTransactionDateAfterAndIdGreaterThanOrderById(
+            String status, LocalDateTime transactionDate, Long afterId);
+
+    @Query("SELECT DISTINCT t.partitionMonth FROM Transaction t "
+            + "WHERE t.partitionMonth < :cutoff ORDER BY t.partitionMonth")
+    List<Integer> findPartitionMonthsBefore(@Param("cutoff") int cutoff);
+
+    List<Transaction> findTop1000ByPartitionMonthAndIdGreaterThanOrderById(
+            Integer partitionMonth, Long afterId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.partitionMonth = :partitionMonth AND t.id <= :maxId")
+    int deletePartition(@Param("partitionMonth") int partitionMonth, @Param("maxId") long maxId);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.workshop.moneytransfer.repository;
+
+import com.workshop.moneytransfer.model.TransferSaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TransferSaga s WHERE s.sagaId = :sagaId")
+    Optional<TransferSaga> findBySagaIdForUpdate(@Param("sagaId") String sagaId);
+
+    List<TransferSaga> findTop100ByStatusAndUpdatedAtBeforeOrderByUpdatedAt(
+            String status, LocalDateTime updatedAt);
+
+    long countByStatus(String status);
+}
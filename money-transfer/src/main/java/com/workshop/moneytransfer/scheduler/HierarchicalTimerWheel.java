@@ -0,0 +1,119 @@
+package com.workshop.moneytransfer.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed hierarchical timer wheel.
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above
+ * covers {@code wheelSize} times the span of the one below. Items far in the
+ * future sit in a coarse bucket and cascade down as time approaches, so
+ * scheduling is O(1) and advancing costs O(levels) per tick regardless of
+ * how many items are pending.
+ *
+ * Methods are synchronized: request threads may schedule while the
+ * scheduler thread advances the wheel.
+ */
+public class HierarchicalTimerWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<ArrayDeque<Entry<T>>[]> levels = new ArrayList<>();
+    private final ArrayDeque<T> overdue = new ArrayDeque<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Invalid timer wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an item. Items whose deadline has already passed are returned
+     * by the next call to {@link #advance(long)}.
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        insert(new Entry<>(item, deadlineMillis / tickMillis));
+        size++;
+    }
+
+    /**
+     * Move the wheel forward to {@code nowMillis} and return every item that
+     * has come due, in no particular order within a tick.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Cascade coarser buckets whose span starts at this tick
+            long unit = wheelSize;
+            for (int level = 1; level < levels.size(); level++, unit *= wheelSize) {
+                if (currentTick % unit != 0) {
+                    break;
+                }
+                ArrayDeque<Entry<T>> bucket = levels.get(level)[(int) ((currentTick / unit) % wheelSize)];
+                while (!bucket.isEmpty()) {
+                    insert(bucket.poll());
+                }
+            }
+
+            ArrayDeque<Entry<T>> bucket = levels.isEmpty()
+                    ? null
+                    : levels.get(0)[(int) (currentTick % wheelSize)];
+            while (bucket != null && !bucket.isEmpty()) {
+                due.add(bucket.poll().item);
+            }
+            while (!overdue.isEmpty()) {
+                due.add(overdue.poll());
+            }
+        }
+
+        size -= due.size();
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            overdue.add(entry.item);
+            return;
+        }
+
+        // Smallest level at which the deadline falls within one revolution
+        int level = 0;
+        long unit = 1;
+        while (entry.deadlineTick / unit - currentTick / unit >= wheelSize) {
+            level++;
+            unit *= wheelSize;
+        }
+        bucketsFor(level)[(int) ((entry.deadlineTick / unit) % wheelSize)].add(entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArrayDeque<Entry<T>>[] bucketsFor(int level) {
+        while (levels.size() <= level) {
+            ArrayDeque<Entry<T>>[] buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.workshop.moneytransfer.scheduler;
+
+import com.workshop.moneytransfer.config.SchedulerProperties;
+import com.workshop.moneytransfer.exception.AccountNotFoundException;
+import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.exception.VelocityLimitExceededException;
+import com.workshop.moneytransfer.model.ScheduledTransfer;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.ScheduledTransferRepository;
+import com.workshop.moneytransfer.repository.ScheduledTransferRepository.DueInstruction;
+import com.workshop.moneytransfer.service.ShardedTransferService;
+import com.workshop.moneytransfer.service.ShardedTransferService.StartedTransfer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives scheduled transfers.
+ * Only instructions due within the configured window are held in a
+ * {@link HierarchicalTimerWheel}; the window is refreshed from the database
+ * periodically and on startup, which also picks up anything that came due
+ * while the application was down. Each occurrence is claimed with a
+ * conditional update in the same database transaction as the transfer, so an
+ * occurrence commits exactly once even if it was queued twice. Transfers go
+ * through {@link ShardedTransferService}; for a destination on another node
+ * the claim commits with the saga's debit and the credit leg runs afterwards.
+ */
+@Component
+@Slf4j
+public class ScheduledTransferDispatcher {
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ShardedTransferService shardedTransferService;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerProperties properties;
+    private final HierarchicalTimerWheel<Long> wheel;
+
+    // id -> deadline currently queued in the wheel, to avoid re-queueing on refresh
+    private final Map<Long, Long> queued = new ConcurrentHashMap<>();
+    private volatile long loadedUntilMillis;
+
+    public ScheduledTransferDispatcher(ScheduledTransferRepository scheduledTransferRepository,
+            ShardedTransferService shardedTransferService,
+            PlatformTransactionManager transactionManager,
+            SchedulerProperties properties) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.shardedTransferService = shardedTransferService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.wheel = new HierarchicalTimerWheel<>(
+                properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (properties.isEnabled()) {
+            refreshWindow();
+        }
+    }
+
+    /**
+     * Queue an instruction if it falls inside the window already loaded;
+     * later ones are picked up by a future refresh.
+     */
+    public void track(ScheduledTransfer instruction) {
+        if ("ACTIVE".equals(instruction.getStatus()) && instruction.getNextExecutionAt() != null) {
+            enqueue(instruction.getId(), toMillis(instruction.getNextExecutionAt()), loadedUntilMillis);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.window-refresh-ms:60000}",
+            initialDelayString = "${scheduler.window-refresh-ms:60000}")
+    public void refreshWindow() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long until = System.currentTimeMillis()
+                + TimeUnit.MINUTES.toMillis(properties.getWindowMinutes());
+        LocalDateTime untilTime = toDateTime(until);
+
+        int loaded = 0;
+        long afterId = 0;
+        List<DueInstruction> page;
+        do {
+            page = scheduledTransferRepository.findDueBefore(
+                    untilTime, afterId, PageRequest.of(0, properties.getLoadPageSize()));
+            for (DueInstruction due : page) {
+                if (enqueue(due.getId(), toMillis(due.getNextExecutionAt()), until)) {
+                    loaded++;
+                }
+                afterId = due.getId();
+            }
+        } while (page.size() == properties.getLoadPageSize());
+
+        loadedUntilMillis = until;
+        log.debug("Scheduler window refreshed: {} new, {} queued", loaded, wheel.size());
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.tick-ms:1000}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        due.forEach(queued::remove);
+
+        for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+            dispatchBatch(due.subList(from, Math.min(due.size(), from + properties.getBatchSize())));
+        }
+    }
+
+    private void dispatchBatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ScheduledTransfer instruction : scheduledTransferRepository.findAllById(ids)) {
+            if ("ACTIVE".equals(instruction.getStatus())
+                    && instruction.getNextExecutionAt() != null
+                    && !instruction.getNextExecutionAt().isAfter(now)) {
+                execute(instruction);
+            }
+        }
+    }
+
+    private void execute(ScheduledTransfer instruction) {
+        LocalDateTime occurrence = instruction.getNextExecutionAt();
+        LocalDateTime next = instruction.occurrenceAfter(occurrence);
+
+        StartedTransfer started;
+        try {
+            started = transactionTemplate.execute(status -> {
+                int claimed = scheduledTransferRepository.claimOccurrence(
+                        instruction.getId(), occurrence, next,
+                        next != null ? "ACTIVE" : "COMPLETED",
+                        null, null, LocalDateTime.now());
+                if (claimed == 0) {
+                    return null;
+                }
+                StartedTransfer result = shardedTransferService.begin(
+                        instruction.getFromAccountNumber(),
+                        instruction.getToAccountNumber(),
+                        instruction.getAmount(),
+                        instruction.getDescription());
+                scheduledTransferRepository.recordTransactionId(
+                        instruction.getId(), result.transactionId());
+                return result;
+            });
+
+            if (started == null) {
+                log.debug("Occurrence {} of {} already claimed", occurrence, instruction.getInstructionId());
+                return;
+            }
+        } catch (InsufficientFundsException | AccountNotFoundException | VelocityLimitExceededException
+                | IllegalStateException | IllegalArgumentException e) {
+            // Business failure: consume the occurrence so it is not retried forever
+            log.warn("Scheduled transfer {} failed: {}", instruction.getInstructionId(), e.getMessage());
+            transactionTemplate.execute(status -> scheduledTransferRepository.claimOccurrence(
+                    instruction.getId(), occurrence, next,
+                    next != null ? "ACTIVE" : "FAILED",
+                    null, e.getMessage(), LocalDateTime.now()));
+            started = null;
+        } catch (RuntimeException e) {
+            // Infrastructure failure: leave the occurrence due, the next refresh re-queues it
+            log.error("Scheduled transfer {} could not be executed, will retry",
+                    instruction.getInstructionId(), e);
+            return;
+        }
+
+        if (started != null) {
+            finish(instruction, occurrence, started);
+        }
+
+        if (next != null) {
+            enqueue(instruction.getId(), toMillis(next), loadedUntilMillis);
+        }
+    }
+
+    private void finish(ScheduledTransfer instruction, LocalDateTime occurrence, StartedTransfer started) {
+        try {
+            Transaction transaction = shardedTransferService.finish(started);
+            log.info("Executed scheduled transfer {} (occurrence {}), transaction {} {}",
+                    instruction.getInstructionId(), occurrence,
+                    transaction.getTransactionId(), transaction.getStatus());
+        } catch (RuntimeException e) {
+            // The debit is committed; the saga refunds or retries the credit on its own
+            log.warn("Credit leg of scheduled transfer {} (transaction {}) did not complete: {}",
+                    instruction.getInstructionId(), started.transactionId(), e.getMessage());
+        }
+    }
+
+    private boolean enqueue(Long id, long deadlineMillis, long windowEndMillis) {
+        if (deadlineMillis >= windowEndMillis) {
+            return false;
+        }
+        Long previous = queued.put(id, deadlineMillis);
+        if (previous != null && previous == deadlineMillis) {
+            return false;
+        }
+        wheel.schedule(id, deadlineMillis);
+        return true;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
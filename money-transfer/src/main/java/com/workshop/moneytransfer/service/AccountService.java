@@ -1,27 +1,64 @@
 package com.workshop.moneytransfer.service;
 
+import com.workshop.moneytransfer.config.ShardingProperties.Node;
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateResponse;
 import com.workshop.moneytransfer.exception.AccountNotFoundException;
 import com.workshop.moneytransfer.model.Account;
 import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.shard.ShardClient;
+import com.workshop.moneytransfer.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AccountService {
 
+    private static final String DEFAULT_CURRENCY = "USD";
+    private static final Set<String> ACCOUNT_STATUSES = Set.of("ACTIVE", "INACTIVE", "BLOCKED");
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
     private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final FxRateService fxRateService;
     private final Random random = new Random();
 
     @Transactional
     public Account createAccount(String accountHolderName, BigDecimal initialBalance) {
+        return createAccount(accountHolderName, initialBalance, DEFAULT_CURRENCY);
+    }
+
+    @Transactional
+    public Account createAccount(String accountHolderName, BigDecimal initialBalance,
+            String currency) {
+
+        String accountCurrency = currency != null ? currency : DEFAULT_CURRENCY;
+        if (!isSupportedCurrency(accountCurrency)) {
+            throw new IllegalArgumentException("Unsupported currency: " + accountCurrency);
+        }
 
         String accountNumber = generateAccountNumber();
 
@@ -29,7 +66,7 @@ public class AccountService {
         account.setAccountNumber(accountNumber);
         account.setAccountHolderName(accountHolderName);
         account.setBalance(initialBalance);
-        account.setCurrency("USD");
+        account.setCurrency(accountCurrency);
         account.setStatus("ACTIVE");
 
         Account savedAccount = accountRepository.save(account);
@@ -44,13 +81,31 @@ public class AccountService {
                         "Account not found: " + accountNumber));
     }
 
+    public AccountResponse getAccountView(String accountNumber) {
+        return accountRepository.findViewByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Account not found: " + accountNumber));
+    }
+
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
 
+    /**
+     * Feed every account view to {@code consumer} straight from a database
+     * cursor, without loading the whole table.
+     */
+    @Transactional(readOnly = true)
+    public void forEachAccountView(Consumer<AccountResponse> consumer) {
+        try (Stream<AccountResponse> accounts = accountRepository.streamAllViews()) {
+            accounts.forEach(consumer);
+        }
+    }
+
     public BigDecimal getBalance(String accountNumber) {
-        Account account = getAccount(accountNumber);
-        return account.getBalance();
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Account not found: " + accountNumber));
     }
 
     @Transactional
@@ -60,6 +115,161 @@ public class AccountService {
         return accountRepository.save(account);
     }
 
+    /**
+     * Set the status of many accounts with one set-based UPDATE per chunk.
+     * Each chunk commits on its own so a large freeze list never holds locks
+     * on every account at once. Account numbers are consumed lazily, so a
+     * streamed file is never fully loaded into memory. For the same reason
+     * duplicates are only collapsed within a chunk: an account repeated in
+     * two chunks is counted in both, so {@code requested} always equals
+     * {@code updated} plus the size of {@code notFound}. On a sharded
+     * deployment each chunk is split by owner node and the remote parts are
+     * sent to their owners.
+     */
+    public BulkStatusUpdateResponse updateAccountStatuses(Iterable<String> accountNumbers,
+            String status) {
+
+        if (!ACCOUNT_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Invalid account status: " + status);
+        }
+
+        int requested = 0;
+        int updated = 0;
+        List<String> notFound = new ArrayList<>();
+        Set<String> chunk = new LinkedHashSet<>();
+
+        for (String accountNumber : accountNumbers) {
+            String trimmed = accountNumber.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            chunk.add(trimmed);
+            if (chunk.size() == BULK_UPDATE_CHUNK_SIZE) {
+                requested += chunk.size();
+                updated += updateChunk(chunk, status, notFound);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            requested += chunk.size();
+            updated += updateChunk(chunk, status, notFound);
+        }
+
+        log.info("Bulk status update to {}: {} requested, {} updated, {} not found",
+                status, requested, updated, notFound.size());
+
+        return new BulkStatusUpdateResponse(status, requested, updated, notFound);
+    }
+
+    private int updateChunk(Set<String> chunk, String status, List<String> notFound) {
+        if (!shardRouter.isEnabled()) {
+            return updateLocalChunk(chunk, status, notFound);
+        }
+
+        Set<String> local = new LinkedHashSet<>();
+        Map<Node, List<String>> remote = new LinkedHashMap<>();
+        for (String accountNumber : chunk) {
+            if (shardRouter.isLocal(accountNumber)) {
+                local.add(accountNumber);
+            } else {
+                remote.computeIfAbsent(shardRouter.ownerOf(accountNumber), node -> new ArrayList<>())
+                        .add(accountNumber);
+            }
+        }
+
+        int updated = local.isEmpty() ? 0 : updateLocalChunk(local, status, notFound);
+        for (Map.Entry<Node, List<String>> part : remote.entrySet()) {
+            BulkStatusUpdateResponse response = shardClient.updateStatuses(part.getKey(), status, part.getValue());
+            updated += response.getUpdated();
+            notFound.addAll(response.getNotFound());
+        }
+        return updated;
+    }
+
+    private int updateLocalChunk(Set<String> chunk, String status, List<String> notFound) {
+        Integer updated = transactionTemplate.execute(tx -> {
+            Set<String> existing = new HashSet<>(accountRepository.findExistingAccountNumbers(chunk));
+            for (String accountNumber : chunk) {
+                if (!existing.contains(accountNumber)) {
+                    notFound.add(accountNumber);
+                }
+            }
+            if (existing.isEmpty()) {
+                return 0;
+            }
+            return accountRepository.updateStatusByAccountNumbers(
+                    existing, status, LocalDateTime.now());
+        });
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * Load an account snapshot ({@code accountNumber,balance,currency,status,tier}
+     * per line) into this instance, e.g. before replaying captured traffic.
+     * Existing accounts are overwritten. Each chunk commits on its own.
+     */
+    public int importAccounts(Iterable<String> lines) {
+        int imported = 0;
+        List<String[]> chunk = new ArrayList<>();
+
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split(",");
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Invalid snapshot line: " + trimmed);
+            }
+            chunk.add(fields);
+            if (chunk.size() == BULK_UPDATE_CHUNK_SIZE) {
+                imported += importChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += importChunk(chunk);
+        }
+
+        log.info("Imported {} accounts from snapshot", imported);
+        return imported;
+    }
+
+    private int importChunk(List<String[]> chunk) {
+        Integer imported = transactionTemplate.execute(tx -> {
+            Map<String, Account> existing = accountRepository.findByAccountNumberIn(
+                            chunk.stream().map(fields -> fields[0]).toList()).stream()
+                    .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+            List<Account> accounts = new ArrayList<>(chunk.size());
+            for (String[] fields : chunk) {
+                Account account = existing.get(fields[0]);
+                if (account == null) {
+                    account = new Account();
+                    account.setAccountNumber(fields[0]);
+                    account.setAccountHolderName("Snapshot " + fields[0]);
+                }
+                account.setBalance(new BigDecimal(fields[1]));
+                account.setCurrency(fields[2]);
+                account.setStatus(fields[3]);
+                account.setTier(fields[4]);
+                accounts.add(account);
+            }
+            return accountRepository.saveAll(accounts).size();
+        });
+        return imported != null ? imported : 0;
+    }
+
+    // ISO 4217 code the FX table can convert, so the account can both send and receive
+    private boolean isSupportedCurrency(String currency) {
+        try {
+            Currency.getInstance(currency);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return DEFAULT_CURRENCY.equals(currency) || fxRateService.isSupportedCurrency(currency);
+    }
+
     private String generateAccountNumber() {
         // Generate 10-digit account number
         StringBuilder accountNumber = new StringBuilder();
@@ -67,8 +277,13 @@ public class AccountService {
             accountNumber.append(random.nextInt(10));
         }
 
-        // Ensure uniqueness
+        // Ensure the number hashes to this node when sharded
         String number = accountNumber.toString();
+        if (!shardRouter.isLocal(number)) {
+            return generateAccountNumber();
+        }
+
+        // Ensure uniqueness
         if (accountRepository.existsByAccountNumber(number)) {
             return generateAccountNumber(); // Recursive call if duplicate
         }
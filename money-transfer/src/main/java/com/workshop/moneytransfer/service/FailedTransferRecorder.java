@@ -0,0 +1,31 @@
+package com.workshop.moneytransfer.service;
+
+import com.workshop.moneytransfer.cache.RecentActivityCache;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.outbox.OutboxWriter;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records a rejected transfer in its own transaction, so the audit row and
+ * its outbox event survive the rollback of the transfer that failed.
+ */
+@Service
+@RequiredArgsConstructor
+public class FailedTransferRecorder {
+
+    private final TransactionRepository transactionRepository;
+    private final OutboxWriter outboxWriter;
+    private final RecentActivityCache recentActivityCache;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Transaction record(Transaction failedTransaction) {
+        Transaction saved = transactionRepository.save(failedTransaction);
+        outboxWriter.append(OutboxWriter.TRANSFER_FAILED, saved);
+        recentActivityCache.recordAfterCommit(saved);
+        return saved;
+    }
+}
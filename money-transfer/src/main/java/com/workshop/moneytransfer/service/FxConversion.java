@@ -0,0 +1,9 @@
+package com.workshop.moneytransfer.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of converting an amount: the rate applied and the converted amount.
+ */
+public record FxConversion(BigDecimal rate, BigDecimal amount) {
+}
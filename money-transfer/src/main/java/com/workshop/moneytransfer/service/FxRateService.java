@@ -0,0 +1,80 @@
+package com.workshop.moneytransfer.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRateTable}. Conversion reads a single volatile
+ * reference; reloads build a complete new table and swap it in atomically.
+ */
+@Service
+@Slf4j
+public class FxRateService {
+
+    private final AtomicReference<FxRateTable> rateTable = new AtomicReference<>(FxRateTable.EMPTY);
+    private final ResourceLoader resourceLoader;
+    private final String ratesLocation;
+
+    public FxRateService(ResourceLoader resourceLoader,
+            @Value("${fx.rates-location:classpath:fx-rates.properties}") String ratesLocation) {
+        this.resourceLoader = resourceLoader;
+        this.ratesLocation = ratesLocation;
+    }
+
+    @PostConstruct
+    public void init() {
+        Resource resource = resourceLoader.getResource(ratesLocation);
+        if (resource.exists()) {
+            reloadFromFile();
+        } else {
+            log.warn("FX rates file {} not found, cross-currency transfers are disabled",
+                    ratesLocation);
+        }
+    }
+
+    public FxConversion convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        return rateTable.get().convert(amount, fromCurrency, toCurrency);
+    }
+
+    public boolean isSupportedCurrency(String currency) {
+        return rateTable.get().hasCurrency(currency);
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rateTable.get().toPairRates();
+    }
+
+    public Map<String, BigDecimal> replaceRates(Map<String, BigDecimal> pairRates) {
+        FxRateTable table = FxRateTable.of(pairRates);
+        rateTable.set(table);
+        log.info("Replaced FX rate table with {} rates", table.size());
+        return table.toPairRates();
+    }
+
+    public Map<String, BigDecimal> reloadFromFile() {
+        Properties properties = new Properties();
+        try (InputStream in = resourceLoader.getResource(ratesLocation).getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read FX rates from " + ratesLocation, e);
+        }
+
+        Map<String, BigDecimal> pairRates = new HashMap<>();
+        properties.forEach((pair, rate) ->
+                pairRates.put(pair.toString(), new BigDecimal(rate.toString().trim())));
+        return replaceRates(pairRates);
+    }
+}
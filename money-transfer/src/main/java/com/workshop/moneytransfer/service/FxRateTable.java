@@ -0,0 +1,90 @@
+package com.workshop.moneytransfer.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of FX rates keyed by currency pair ("USD/EUR").
+ * Rates are fixed-point with {@link #RATE_SCALE} decimals; converted amounts
+ * are rounded half-even to the target currency's minor unit.
+ * A new table is built off to the side and swapped in as a whole, so readers
+ * never see a half-updated set of rates and never take a lock.
+ */
+public final class FxRateTable {
+
+    public static final int RATE_SCALE = 8;
+
+    public static final FxRateTable EMPTY = new FxRateTable(Map.of());
+
+    private final Map<String, Map<String, Rate>> rates;
+
+    private FxRateTable(Map<String, Map<String, Rate>> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * Build a table from "FROM/TO" -> rate entries.
+     */
+    public static FxRateTable of(Map<String, BigDecimal> pairRates) {
+        Map<String, Map<String, Rate>> rates = new HashMap<>();
+        pairRates.forEach((pair, rate) -> {
+            String[] currencies = pair.split("/");
+            if (currencies.length != 2) {
+                throw new IllegalArgumentException("Invalid currency pair: " + pair);
+            }
+            String from = Currency.getInstance(currencies[0].trim()).getCurrencyCode();
+            Currency to = Currency.getInstance(currencies[1].trim());
+            if (rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("FX rate must be positive: " + pair);
+            }
+            rates.computeIfAbsent(from, k -> new HashMap<>())
+                    .put(to.getCurrencyCode(), new Rate(
+                            rate.setScale(RATE_SCALE, RoundingMode.HALF_EVEN),
+                            Math.max(to.getDefaultFractionDigits(), 0)));
+        });
+
+        Map<String, Map<String, Rate>> frozen = new HashMap<>();
+        rates.forEach((from, targets) -> frozen.put(from, Map.copyOf(targets)));
+        return new FxRateTable(Map.copyOf(frozen));
+    }
+
+    public FxConversion convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        Map<String, Rate> targets = rates.get(fromCurrency);
+        Rate rate = targets == null ? null : targets.get(toCurrency);
+        if (rate == null) {
+            throw new IllegalStateException(
+                    "No FX rate available for " + fromCurrency + "/" + toCurrency);
+        }
+        BigDecimal converted = amount.multiply(rate.value())
+                .setScale(rate.targetScale(), RoundingMode.HALF_EVEN);
+        return new FxConversion(rate.value(), converted);
+    }
+
+    public Map<String, BigDecimal> toPairRates() {
+        Map<String, BigDecimal> pairRates = new TreeMap<>();
+        rates.forEach((from, targets) -> targets.forEach(
+                (to, rate) -> pairRates.put(from + "/" + to, rate.value())));
+        return pairRates;
+    }
+
+    /**
+     * True if the currency appears on either side of at least one rate.
+     */
+    public boolean hasCurrency(String currency) {
+        if (rates.containsKey(currency)) {
+            return true;
+        }
+        return rates.values().stream().anyMatch(targets -> targets.containsKey(currency));
+    }
+
+    public int size() {
+        return rates.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private record Rate(BigDecimal value, int targetScale) {
+    }
+}
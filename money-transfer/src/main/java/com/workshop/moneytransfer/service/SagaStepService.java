@@ -0,0 +1,230 @@
+package com.workshop.moneytransfer.service;
+
+import com.workshop.moneytransfer.cache.RecentActivityCache;
+import com.workshop.moneytransfer.dto.ShardCreditRequest;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.exception.AccountNotFoundException;
+import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.hold.ReservationLedger;
+import com.workshop.moneytransfer.model.Account;
+import com.workshop.moneytransfer.model.SagaStep;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.model.TransferSaga;
+import com.workshop.moneytransfer.outbox.OutboxWriter;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.SagaStepRepository;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import com.workshop.moneytransfer.repository.TransferSagaRepository;
+import com.workshop.moneytransfer.velocity.VelocityLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The individual local transactions of a cross-shard transfer saga.
+ * Every step after the debit is idempotent, so the coordinator can retry
+ * any of them until it gets a definite answer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SagaStepService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferSagaRepository transferSagaRepository;
+    private final SagaStepRepository sagaStepRepository;
+    private final FxRateService fxRateService;
+    private final VelocityLimiter velocityLimiter;
+    private final OutboxWriter outboxWriter;
+    private final RecentActivityCache recentActivityCache;
+    private final ReservationLedger reservationLedger;
+
+    /**
+     * Step 1, on the source node: debit the source account and record the
+     * saga together with a PENDING transaction.
+     */
+    @Transactional
+    public TransferSaga debit(String fromAccountNumber, String toAccountNumber,
+            BigDecimal amount, String description) {
+
+        Account fromAccount = accountRepository.findByAccountNumberForUpdate(fromAccountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Source account not found: " + fromAccountNumber));
+
+        if (!"ACTIVE".equals(fromAccount.getStatus())) {
+            throw new IllegalStateException("Source account is not active");
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (fromAccount.getBalance().compareTo(amount) < 0) {
+            throw new InsufficientFundsException(String.format(
+                    "Insufficient funds in account %s. Balance: %s, Required: %s",
+                    fromAccountNumber, fromAccount.getBalance(), amount));
+        }
+        reservationLedger.reserveForTransfer(fromAccount, amount);
+        velocityLimiter.checkAndRecord(fromAccount, amount);
+
+        fromAccount.debit(amount);
+        accountRepository.save(fromAccount);
+
+        String sagaId = UUID.randomUUID().toString();
+        sagaStepRepository.save(step(sagaId, "DEBIT", fromAccountNumber, amount));
+
+        Transaction pending = new Transaction();
+        pending.setTransactionId(sagaId);
+        pending.setFromAccountNumber(fromAccountNumber);
+        pending.setToAccountNumber(toAccountNumber);
+        pending.setAmount(amount);
+        pending.setCurrency(fromAccount.getCurrency());
+        pending.setDescription(description);
+        pending.setStatus("PENDING");
+        recentActivityCache.recordAfterCommit(transactionRepository.save(pending));
+
+        TransferSaga saga = new TransferSaga();
+        saga.setSagaId(sagaId);
+        saga.setFromAccountNumber(fromAccountNumber);
+        saga.setToAccountNumber(toAccountNumber);
+        saga.setAmount(amount);
+        saga.setCurrency(fromAccount.getCurrency());
+        saga.setDescription(description);
+        saga.setStatus("DEBITED");
+
+        log.info("Saga {} debited {} from {}", sagaId, amount, fromAccountNumber);
+        return transferSagaRepository.save(saga);
+    }
+
+    /**
+     * Step 2, on the destination node: credit the destination account.
+     * A repeated request for the same saga returns the original result.
+     */
+    @Transactional
+    public Transaction credit(ShardCreditRequest request) {
+        if (sagaStepRepository.existsBySagaIdAndStep(request.getSagaId(), "CREDIT")) {
+            return findTransaction(request.getSagaId());
+        }
+
+        Account toAccount = accountRepository.findByAccountNumberForUpdate(request.getToAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Destination account not found: " + request.getToAccountNumber()));
+        if (!"ACTIVE".equals(toAccount.getStatus())) {
+            throw new IllegalStateException("Destination account is not active");
+        }
+
+        Transaction incoming = new Transaction();
+        incoming.setTransactionId(request.getSagaId());
+        incoming.setFromAccountNumber(request.getFromAccountNumber());
+        incoming.setToAccountNumber(request.getToAccountNumber());
+        incoming.setAmount(request.getAmount());
+        incoming.setCurrency(request.getCurrency());
+        incoming.setDescription(request.getDescription());
+        incoming.setStatus("SUCCESS");
+
+        BigDecimal creditAmount = request.getAmount();
+        if (!request.getCurrency().equals(toAccount.getCurrency())) {
+            FxConversion conversion = fxRateService.convert(
+                    request.getAmount(), request.getCurrency(), toAccount.getCurrency());
+            creditAmount = conversion.amount();
+            incoming.setExchangeRate(conversion.rate());
+            incoming.setConvertedAmount(conversion.amount());
+            incoming.setConvertedCurrency(toAccount.getCurrency());
+        }
+
+        toAccount.credit(creditAmount);
+        accountRepository.save(toAccount);
+        sagaStepRepository.save(step(request.getSagaId(), "CREDIT",
+                request.getToAccountNumber(), creditAmount));
+
+        log.info("Saga {} credited {} to {}", request.getSagaId(), creditAmount,
+                request.getToAccountNumber());
+        Transaction saved = transactionRepository.save(incoming);
+        recentActivityCache.recordAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Step 3a, on the source node: the credit was applied.
+     */
+    @Transactional
+    public Transaction complete(String sagaId, TransactionResponse credited) {
+        TransferSaga saga = lockSaga(sagaId);
+        Transaction transaction = findTransaction(sagaId);
+        if (!"DEBITED".equals(saga.getStatus())) {
+            return transaction;
+        }
+
+        saga.setStatus("COMPLETED");
+        transaction.setStatus("SUCCESS");
+        transaction.setExchangeRate(credited.getExchangeRate());
+        transaction.setConvertedAmount(credited.getConvertedAmount());
+        transaction.setConvertedCurrency(credited.getConvertedCurrency());
+        outboxWriter.append(OutboxWriter.TRANSFER_COMPLETED, transaction);
+        recentActivityCache.recordAfterCommit(transaction);
+        log.info("Saga {} completed", sagaId);
+        return transaction;
+    }
+
+    /**
+     * Step 3b, on the source node: the credit was refused, refund the source.
+     */
+    @Transactional
+    public Transaction compensate(String sagaId, String reason) {
+        TransferSaga saga = lockSaga(sagaId);
+        Transaction transaction = findTransaction(sagaId);
+        if (!"DEBITED".equals(saga.getStatus())) {
+            return transaction;
+        }
+
+        if (!sagaStepRepository.existsBySagaIdAndStep(sagaId, "REFUND")) {
+            Account fromAccount = accountRepository.findByAccountNumberForUpdate(saga.getFromAccountNumber())
+                    .orElseThrow(() -> new AccountNotFoundException(
+                            "Source account not found: " + saga.getFromAccountNumber()));
+            fromAccount.credit(saga.getAmount());
+            accountRepository.save(fromAccount);
+            sagaStepRepository.save(step(sagaId, "REFUND", saga.getFromAccountNumber(), saga.getAmount()));
+        }
+
+        saga.setStatus("COMPENSATED");
+        transaction.setStatus("FAILED");
+        transaction.setFailureReason(reason);
+        outboxWriter.append(OutboxWriter.TRANSFER_FAILED, transaction);
+        recentActivityCache.recordAfterCommit(transaction);
+        log.info("Saga {} compensated: {}", sagaId, reason);
+        return transaction;
+    }
+
+    /**
+     * The credit outcome is unknown; leave the saga DEBITED for a retry.
+     */
+    @Transactional
+    public Transaction recordCreditAttempt(String sagaId) {
+        TransferSaga saga = lockSaga(sagaId);
+        saga.setCreditAttempts(saga.getCreditAttempts() + 1);
+        return findTransaction(sagaId);
+    }
+
+    private TransferSaga lockSaga(String sagaId) {
+        return transferSagaRepository.findBySagaIdForUpdate(sagaId)
+                .orElseThrow(() -> new IllegalStateException("Unknown saga: " + sagaId));
+    }
+
+    private Transaction findTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Transaction not found: " + transactionId));
+    }
+
+    private SagaStep step(String sagaId, String step, String accountNumber, BigDecimal amount) {
+        SagaStep sagaStep = new SagaStep();
+        sagaStep.setSagaId(sagaId);
+        sagaStep.setStep(step);
+        sagaStep.setAccountNumber(accountNumber);
+        sagaStep.setAmount(amount);
+        return sagaStep;
+    }
+}
@@ -0,0 +1,93 @@
+package com.workshop.moneytransfer.service;
+
+import com.workshop.moneytransfer.exception.AccountNotFoundException;
+import com.workshop.moneytransfer.model.ScheduledTransfer;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.ScheduledTransferRepository;
+import com.workshop.moneytransfer.scheduler.ScheduledTransferDispatcher;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledTransferService {
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final AccountRepository accountRepository;
+    private final ScheduledTransferDispatcher dispatcher;
+    private final ShardRouter shardRouter;
+
+    @Transactional
+    public ScheduledTransfer schedule(String fromAccountNumber, String toAccountNumber,
+            BigDecimal amount, String description,
+            LocalDateTime executeAt, String recurrence) {
+
+        if (!accountRepository.existsByAccountNumber(fromAccountNumber)) {
+            throw new AccountNotFoundException("Source account not found: " + fromAccountNumber);
+        }
+        // A destination on another node is checked when the transfer runs
+        if (shardRouter.isLocal(toAccountNumber) && !accountRepository.existsByAccountNumber(toAccountNumber)) {
+            throw new AccountNotFoundException("Destination account not found: " + toAccountNumber);
+        }
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+
+        ScheduledTransfer instruction = new ScheduledTransfer();
+        instruction.setInstructionId(shardRouter.newId());
+        instruction.setFromAccountNumber(fromAccountNumber);
+        instruction.setToAccountNumber(toAccountNumber);
+        instruction.setAmount(amount);
+        instruction.setDescription(description);
+        instruction.setNextExecutionAt(executeAt);
+        instruction.setRecurrence(recurrence != null ? recurrence : "ONCE");
+        instruction.setStatus("ACTIVE");
+
+        ScheduledTransfer saved = scheduledTransferRepository.save(instruction);
+        log.info("Scheduled transfer {}: {} -> {}, amount: {}, first run: {}, recurrence: {}",
+                saved.getInstructionId(), fromAccountNumber, toAccountNumber, amount,
+                executeAt, saved.getRecurrence());
+
+        // Only queue once the instruction is visible to the dispatcher's claim
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.track(saved);
+            }
+        });
+
+        return saved;
+    }
+
+    public ScheduledTransfer getInstruction(String instructionId) {
+        return scheduledTransferRepository.findByInstructionId(instructionId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Scheduled transfer not found: " + instructionId));
+    }
+
+    public List<ScheduledTransfer> getInstructionsForAccount(String accountNumber) {
+        return scheduledTransferRepository.findByFromAccountNumberOrderByNextExecutionAt(accountNumber);
+    }
+
+    @Transactional
+    public ScheduledTransfer cancel(String instructionId) {
+        ScheduledTransfer instruction = getInstruction(instructionId);
+        if (!"ACTIVE".equals(instruction.getStatus())) {
+            throw new IllegalStateException("Scheduled transfer is not active");
+        }
+        // Any queued timer entry is dropped by the dispatcher's claim check
+        instruction.setStatus("CANCELLED");
+        instruction.setNextExecutionAt(null);
+        return scheduledTransferRepository.save(instruction);
+    }
+}
@@ -0,0 +1,138 @@
+package com.workshop.moneytransfer.service;
+
+import com.workshop.moneytransfer.config.ShardingProperties;
+import com.workshop.moneytransfer.dto.ShardCreditRequest;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.exception.AccountNotFoundException;
+import com.workshop.moneytransfer.exception.ShardRequestRejectedException;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.model.TransferSaga;
+import com.workshop.moneytransfer.repository.TransferSagaRepository;
+import com.workshop.moneytransfer.shard.ShardClient;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Entry point for transfers on a sharded deployment.
+ * When both accounts live on this node it is a plain local transfer.
+ * Otherwise it runs as a saga: debit here, credit on the destination's
+ * node, and refund here if that node refuses the credit. If the credit's
+ * outcome is unknown the saga stays DEBITED and is retried until the
+ * destination gives a definite answer; the credit step is idempotent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedTransferService {
+
+    private final TransferService transferService;
+    private final SagaStepService sagaStepService;
+    private final TransferSagaRepository transferSagaRepository;
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final ShardingProperties properties;
+
+    /**
+     * Local part of a transfer, started by {@link #begin}. Either the finished
+     * local transfer, or a debited saga whose credit leg is still to run.
+     */
+    public record StartedTransfer(Transaction transaction, TransferSaga saga) {
+
+        public String transactionId() {
+            return saga != null ? saga.getSagaId() : transaction.getTransactionId();
+        }
+    }
+
+    public Transaction transfer(String fromAccountNumber, String toAccountNumber,
+            BigDecimal amount, String description) {
+        return finish(begin(fromAccountNumber, toAccountNumber, amount, description));
+    }
+
+    /**
+     * Run the part of a transfer that touches only this node, joining the
+     * caller's transaction if there is one: the whole transfer when both
+     * accounts are local, otherwise the saga's debit step. Callers that
+     * begin inside their own transaction must call {@link #finish} only
+     * after it commits, so no remote credit is sent for a debit that may
+     * still roll back.
+     */
+    public StartedTransfer begin(String fromAccountNumber, String toAccountNumber,
+            BigDecimal amount, String description) {
+
+        if (shardRouter.isLocal(toAccountNumber)) {
+            return new StartedTransfer(transferService.transfer(
+                    fromAccountNumber, toAccountNumber, amount, description), null);
+        }
+        if (!shardRouter.isLocal(fromAccountNumber)) {
+            throw new IllegalStateException(
+                    "Source account " + fromAccountNumber + " is not owned by this node");
+        }
+
+        TransferSaga saga = sagaStepService.debit(
+                fromAccountNumber, toAccountNumber, amount, description);
+        return new StartedTransfer(null, saga);
+    }
+
+    /**
+     * Complete a transfer started by {@link #begin}: a no-op for a local
+     * transfer, otherwise the saga's credit leg.
+     */
+    public Transaction finish(StartedTransfer started) {
+        if (started.saga() == null) {
+            return started.transaction();
+        }
+        return driveCredit(started.saga());
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.saga-retry-delay-ms:10000}")
+    public void retryUnresolvedSagas() {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        LocalDateTime staleBefore = LocalDateTime.now()
+                .minus(Duration.ofMillis(properties.getSagaRetryDelayMs()));
+        for (TransferSaga saga : transferSagaRepository
+                .findTop100ByStatusAndUpdatedAtBeforeOrderByUpdatedAt("DEBITED", staleBefore)) {
+            try {
+                driveCredit(saga);
+            } catch (RuntimeException e) {
+                log.warn("Retry of saga {} failed: {}", saga.getSagaId(), e.getMessage());
+            }
+        }
+    }
+
+    private Transaction driveCredit(TransferSaga saga) {
+        ShardCreditRequest creditRequest = new ShardCreditRequest(
+                saga.getSagaId(),
+                saga.getFromAccountNumber(),
+                saga.getToAccountNumber(),
+                saga.getAmount(),
+                saga.getCurrency(),
+                saga.getDescription());
+
+        try {
+            TransactionResponse credited = shardClient.credit(
+                    shardRouter.ownerOf(saga.getToAccountNumber()), creditRequest);
+            return sagaStepService.complete(saga.getSagaId(), credited);
+        } catch (ShardRequestRejectedException e) {
+            sagaStepService.compensate(saga.getSagaId(), e.getMessage());
+            if (e.getStatus() == HttpStatus.NOT_FOUND.value()) {
+                throw new AccountNotFoundException(e.getMessage());
+            }
+            throw new IllegalStateException(e.getMessage());
+        } catch (RestClientException e) {
+            log.warn("Credit leg of saga {} has unknown outcome, will retry: {}",
+                    saga.getSagaId(), e.getMessage());
+            return sagaStepService.recordCreditAttempt(saga.getSagaId());
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.workshop.moneytransfer.service;
 
+import com.workshop.moneytransfer.archive.TransactionSegmentStore;
+import com.workshop.moneytransfer.cache.RecentActivityCache;
+import com.workshop.moneytransfer.dto.TransactionResponse;
 import com.workshop.moneytransfer.exception.AccountNotFoundException;
 import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.hold.ReservationLedger;
 import com.workshop.moneytransfer.model.Account;
 import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.outbox.OutboxWriter;
 import com.workshop.moneytransfer.repository.AccountRepository;
 import com.workshop.moneytransfer.repository.TransactionRepository;
+import com.workshop.moneytransfer.velocity.VelocityLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +36,13 @@ public class TransferService {
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final FxRateService fxRateService;
+    private final TransactionSegmentStore segmentStore;
+    private final VelocityLimiter velocityLimiter;
+    private final OutboxWriter outboxWriter;
+    private final FailedTransferRecorder failedTransferRecorder;
+    private final RecentActivityCache recentActivityCache;
+    private final ReservationLedger reservationLedger;
 
     /**
      * Transfer money between accounts
@@ -31,24 +52,42 @@ public class TransferService {
      * 3. Debit from source account
      * 4. Credit to destination account
      * 5. Update both accounts
-     * 6. Record transaction
+     * 6. Record transaction and its outbox event
      */
     @Transactional
     public Transaction transfer(String fromAccountNumber, String toAccountNumber,
             BigDecimal amount, String description) {
+        return executeTransfer(fromAccountNumber, toAccountNumber, amount, description, null);
+    }
+
+    /**
+     * Settle a captured hold. The funds are already reserved by the hold, so
+     * no further reservation is taken, and the hold id becomes the
+     * transaction id so a committed capture can be recognised after a crash.
+     */
+    @Transactional
+    public Transaction transferHeldFunds(String holdId, String fromAccountNumber,
+            String toAccountNumber, BigDecimal amount, String description) {
+        return executeTransfer(fromAccountNumber, toAccountNumber, amount, description, holdId);
+    }
+
+    private Transaction executeTransfer(String fromAccountNumber, String toAccountNumber,
+            BigDecimal amount, String description, String holdId) {
 
         log.info("Starting transfer: {} -> {}, amount: {}",
                 fromAccountNumber, toAccountNumber, amount);
 
-        // Step 1: Load Account 1 (from account)
-        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(
-                        "Source account not found: " + fromAccountNumber));
-
-        // Step 2: Load Account 2 (to account)
-        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException(
-                        "Destination account not found: " + toAccountNumber));
+        // Steps 1 and 2: Load and lock both accounts, in account number order
+        // so two transfers in opposite directions can't deadlock
+        Account fromAccount;
+        Account toAccount;
+        if (fromAccountNumber.compareTo(toAccountNumber) <= 0) {
+            fromAccount = lockAccount(fromAccountNumber, "Source");
+            toAccount = lockAccount(toAccountNumber, "Destination");
+        } else {
+            toAccount = lockAccount(toAccountNumber, "Destination");
+            fromAccount = lockAccount(fromAccountNumber, "Source");
+        }
 
         // Validate accounts are active
         if (!"ACTIVE".equals(fromAccount.getStatus())) {
@@ -66,17 +105,30 @@ public class TransferService {
 
         // Check sufficient funds
         if (fromAccount.getBalance().compareTo(amount) < 0) {
-            String errorMsg = String.format(
+            throw insufficientFunds(fromAccount, toAccountNumber, amount, description, String.format(
                     "Insufficient funds in account %s. Balance: %s, Required: %s",
-                    fromAccountNumber, fromAccount.getBalance(), amount);
+                    fromAccountNumber, fromAccount.getBalance(), amount));
+        }
+
+        // Funds reserved by open holds are not available (released when this transaction ends)
+        if (holdId == null) {
+            try {
+                reservationLedger.reserveForTransfer(fromAccount, amount);
+            } catch (InsufficientFundsException e) {
+                throw insufficientFunds(fromAccount, toAccountNumber, amount, description, e.getMessage());
+            }
+        }
 
-            // Record failed transaction
-            Transaction failedTransaction = createTransaction(
-                    fromAccountNumber, toAccountNumber, amount,
-                    description, "FAILED", errorMsg);
-            transactionRepository.save(failedTransaction);
+        // Enforce per-account velocity limits (in memory, released on rollback)
+        velocityLimiter.checkAndRecord(fromAccount, amount);
 
-            throw new InsufficientFundsException(errorMsg);
+        // Convert for cross-currency transfers (in-memory rate table, no remote call)
+        FxConversion conversion = null;
+        BigDecimal creditAmount = amount;
+        if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
+            conversion = fxRateService.convert(
+                    amount, fromAccount.getCurrency(), toAccount.getCurrency());
+            creditAmount = conversion.amount();
         }
 
         // Step 3: Debit from source account
@@ -84,8 +136,8 @@ public class TransferService {
         log.info("Debited {} from account {}", amount, fromAccountNumber);
 
         // Step 4: Credit to destination account
-        toAccount.credit(amount);
-        log.info("Credited {} to account {}", amount, toAccountNumber);
+        toAccount.credit(creditAmount);
+        log.info("Credited {} to account {}", creditAmount, toAccountNumber);
 
         // Step 5: Update both accounts
         accountRepository.save(fromAccount);
@@ -93,10 +145,20 @@ public class TransferService {
 
         // Step 6: Record successful transaction
         Transaction transaction = createTransaction(
-                fromAccountNumber, toAccountNumber, amount,
+                fromAccountNumber, toAccountNumber, amount, fromAccount.getCurrency(),
                 description, "SUCCESS", null);
+        if (holdId != null) {
+            transaction.setTransactionId(holdId);
+        }
+        if (conversion != null) {
+            transaction.setExchangeRate(conversion.rate());
+            transaction.setConvertedAmount(conversion.amount());
+            transaction.setConvertedCurrency(toAccount.getCurrency());
+        }
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        outboxWriter.append(OutboxWriter.TRANSFER_COMPLETED, savedTransaction);
+        recentActivityCache.recordAfterCommit(savedTransaction);
 
         log.info("Transfer completed successfully. Transaction ID: {}",
                 savedTransaction.getTransactionId());
@@ -104,14 +166,79 @@ public class TransferService {
         return savedTransaction;
     }
 
-    public List<Transaction> getTransactionHistory(String accountNumber) {
-        return transactionRepository.findByFromAccountNumberOrToAccountNumber(
-                accountNumber, accountNumber);
+    /**
+     * Full history, oldest first, handed to {@code consumer} one transaction
+     * at a time. Archived months come first from the segment store, then hot
+     * rows through a database cursor; partitions are archived oldest first, so
+     * every archived row predates every hot one. A partition caught between
+     * archive and delete is in both tiers, so hot rows already seen are skipped.
+     */
+    @Transactional(readOnly = true)
+    public void forEachHistoryEntry(String accountNumber, Consumer<TransactionResponse> consumer) {
+        Set<String> archivedIds = new HashSet<>();
+        if (!segmentStore.isEmpty()) {
+            List<Transaction> archived = new ArrayList<>(segmentStore.findByAccount(accountNumber));
+            archived.sort(Comparator.comparing(Transaction::getTransactionDate));
+            for (Transaction transaction : archived) {
+                archivedIds.add(transaction.getTransactionId());
+                consumer.accept(TransactionResponse.from(transaction));
+            }
+        }
+
+        try (Stream<TransactionResponse> hot = transactionRepository.streamHistoryViews(accountNumber)) {
+            hot.filter(t -> !archivedIds.contains(t.getTransactionId())).forEach(consumer);
+        }
+    }
+
+    /**
+     * The {@code limit} most recent transactions, oldest first. Served from
+     * the recent-activity cache when it holds enough; falls back to scanning
+     * the full history, keeping only the last {@code limit}, when the limit
+     * exceeds the ring size or a short ring may be missing archived rows.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getRecentTransactions(String accountNumber, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (recentActivityCache.isEnabled() && limit <= recentActivityCache.getCapacity()) {
+            List<TransactionResponse> recent = recentActivityCache.recent(accountNumber, limit);
+            if (recent.size() == limit || segmentStore.isEmpty()) {
+                return recent;
+            }
+        }
+
+        Deque<TransactionResponse> last = new ArrayDeque<>(Math.min(limit, 1024));
+        forEachHistoryEntry(accountNumber, transaction -> {
+            if (last.size() == limit) {
+                last.removeFirst();
+            }
+            last.addLast(transaction);
+        });
+        return new ArrayList<>(last);
+    }
+
+    private Account lockAccount(String accountNumber, String role) {
+        return accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        role + " account not found: " + accountNumber));
+    }
+
+    private InsufficientFundsException insufficientFunds(Account fromAccount, String toAccountNumber,
+            BigDecimal amount, String description, String errorMsg) {
+        // Record failed transaction (own transaction, survives the rollback of this one)
+        Transaction failedTransaction = createTransaction(
+                fromAccount.getAccountNumber(), toAccountNumber, amount, fromAccount.getCurrency(),
+                description, "FAILED", errorMsg);
+        failedTransferRecorder.record(failedTransaction);
+
+        return new InsufficientFundsException(errorMsg);
     }
 
     private Transaction createTransaction(String fromAccountNumber,
             String toAccountNumber,
             BigDecimal amount,
+            String currency,
             String description,
             String status,
             String failureReason) {
@@ -120,7 +247,7 @@ public class TransferService {
         transaction.setFromAccountNumber(fromAccountNumber);
         transaction.setToAccountNumber(toAccountNumber);
         transaction.setAmount(amount);
-        transaction.setCurrency("USD");
+        transaction.setCurrency(currency);
         transaction.setDescription(description);
         transaction.setStatus(status);
         transaction.setFailureReason(failureReason);
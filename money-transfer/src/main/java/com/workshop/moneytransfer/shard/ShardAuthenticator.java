@@ -0,0 +1,161 @@
+package com.workshop.moneytransfer.shard;
+
+import com.workshop.moneytransfer.config.ShardingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signs and verifies requests between shard nodes.
+ * The signature is an HMAC, keyed by the secret shared by all nodes, over
+ * the sending node, a timestamp, a random nonce, the method, the path and a
+ * hash of the body. A request only counts as coming from a peer once it
+ * verifies; the forwarded-by header on its own proves nothing. Nonces are
+ * remembered for as long as their timestamp is acceptable, so a captured
+ * request can't be replayed within the age window.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardAuthenticator {
+
+    public static final String TIMESTAMP_HEADER = "X-Shard-Timestamp";
+    public static final String NONCE_HEADER = "X-Shard-Nonce";
+    public static final String CONTENT_HASH_HEADER = "X-Shard-Content-SHA256";
+    public static final String SIGNATURE_HEADER = "X-Shard-Signature";
+
+    private static final String PEER_ATTRIBUTE = ShardAuthenticator.class.getName() + ".PEER";
+
+    private final ShardingProperties properties;
+    private final ShardRouter shardRouter;
+
+    // Nonces seen from peers, with the time after which their request would be too old anyway
+    private final Map<String, Long> seenNonces = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    /**
+     * Headers that authenticate a request from this node to a peer.
+     */
+    public HttpHeaders sign(String method, String pathAndQuery, byte[] body) {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String nonce = UUID.randomUUID().toString();
+        String contentHash = contentHash(body);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ShardClient.FORWARDED_HEADER, shardRouter.getNodeId());
+        headers.set(TIMESTAMP_HEADER, timestamp);
+        headers.set(NONCE_HEADER, nonce);
+        headers.set(CONTENT_HASH_HEADER, contentHash);
+        headers.set(SIGNATURE_HEADER,
+                signature(shardRouter.getNodeId(), timestamp, nonce, method, pathAndQuery, contentHash));
+        return headers;
+    }
+
+    /**
+     * Check the signature headers of an incoming request: a known peer, a
+     * recent timestamp and a matching HMAC. Does not read the body; use
+     * {@link #matchesBody} once it has been read. Has no side effects, so it
+     * can be asked more than once per request; {@link #acceptNonce} is what
+     * marks a request as used.
+     */
+    public boolean hasValidSignature(HttpServletRequest request) {
+        String nodeId = request.getHeader(ShardClient.FORWARDED_HEADER);
+        String timestamp = request.getHeader(TIMESTAMP_HEADER);
+        String nonce = request.getHeader(NONCE_HEADER);
+        String contentHash = request.getHeader(CONTENT_HASH_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (nodeId == null || timestamp == null || nonce == null || contentHash == null || signature == null
+                || !shardRouter.isPeer(nodeId)) {
+            return false;
+        }
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(timestamp);
+            if (Math.abs(age) > properties.getMaxRequestAgeMs()) {
+                return false;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        String expected = signature(nodeId, timestamp, nonce, request.getMethod(),
+                pathAndQuery(request), contentHash);
+        return MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public boolean matchesBody(HttpServletRequest request, byte[] body) {
+        String contentHash = request.getHeader(CONTENT_HASH_HEADER);
+        return contentHash != null && MessageDigest.isEqual(
+                contentHash(body).getBytes(StandardCharsets.US_ASCII),
+                contentHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Record the nonce of a request that passed {@link #hasValidSignature}.
+     *
+     * @return false if a request with the same nonce was already accepted
+     */
+    public boolean acceptNonce(HttpServletRequest request) {
+        String nodeId = request.getHeader(ShardClient.FORWARDED_HEADER);
+        String nonce = request.getHeader(NONCE_HEADER);
+        long now = System.currentTimeMillis();
+        // The timestamp may be up to maxRequestAgeMs in the future, so keep the nonce past that too
+        long expiresAt = Long.parseLong(request.getHeader(TIMESTAMP_HEADER)) + properties.getMaxRequestAgeMs();
+
+        long sweepAt = nextSweepAt.get();
+        if (now >= sweepAt && nextSweepAt.compareAndSet(sweepAt, now + properties.getMaxRequestAgeMs())) {
+            seenNonces.values().removeIf(expiry -> expiry < now);
+        }
+        return seenNonces.putIfAbsent(nodeId + "/" + nonce, expiresAt) == null;
+    }
+
+    public static void markPeerRequest(HttpServletRequest request) {
+        request.setAttribute(PEER_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * True if {@link ShardRoutingFilter} authenticated the request as coming from a peer.
+     */
+    public static boolean isPeerRequest(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(PEER_ATTRIBUTE));
+    }
+
+    static String pathAndQuery(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getQueryString() != null ? path + "?" + request.getQueryString() : path;
+    }
+
+    private String signature(String nodeId, String timestamp, String nonce, String method,
+            String pathAndQuery, String contentHash) {
+        String canonical = String.join("\n", nodeId, timestamp, nonce, method, pathAndQuery, contentHash);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(
+                    properties.getSharedSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Base64.getEncoder().encodeToString(
+                    mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String contentHash(byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(body != null ? body : new byte[0]));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.workshop.moneytransfer.shard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.moneytransfer.config.ShardingProperties.Node;
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateRequest;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateResponse;
+import com.workshop.moneytransfer.dto.ShardCreditRequest;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.exception.ShardRequestRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * HTTP calls between shard nodes. Every call is signed by
+ * {@link ShardAuthenticator} and carries {@link #FORWARDED_HEADER}, so the
+ * receiving node trusts it and never routes it again.
+ */
+@Component
+public class ShardClient {
+
+    public static final String FORWARDED_HEADER = "X-Shard-Forwarded-By";
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final ShardAuthenticator shardAuthenticator;
+
+    public ShardClient(RestClient.Builder restClientBuilder, ObjectMapper objectMapper,
+            ShardAuthenticator shardAuthenticator) {
+        // JDK client: unlike HttpURLConnection it adds no form Content-Type to a bodiless POST
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofMillis(2000))
+                        .build());
+        requestFactory.setReadTimeout(5000);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.objectMapper = objectMapper;
+        this.shardAuthenticator = shardAuthenticator;
+    }
+
+    /**
+     * Replay a client request on the owning node and hand back its response as-is.
+     */
+    public ResponseEntity<byte[]> forward(Node node, String method, String pathAndQuery,
+            String contentType, byte[] body) {
+
+        RestClient.RequestBodySpec request = restClient.method(HttpMethod.valueOf(method))
+                // Sent exactly as received, so the signed path matches what the peer sees
+                .uri(URI.create(node.getUrl() + pathAndQuery))
+                .headers(headers -> headers.addAll(shardAuthenticator.sign(method, pathAndQuery, body)));
+        if (contentType != null) {
+            request.header(HttpHeaders.CONTENT_TYPE, contentType);
+        }
+        if (body != null && body.length > 0) {
+            request.body(body);
+        }
+        return request.retrieve()
+                .onStatus(status -> true, (req, res) -> { })
+                .toEntity(byte[].class);
+    }
+
+    /**
+     * Apply the credit leg of a saga on the destination's node.
+     * Throws {@link ShardRequestRejectedException} if the node refused it;
+     * any other failure leaves the outcome unknown.
+     */
+    public TransactionResponse credit(Node node, ShardCreditRequest creditRequest) {
+        return post(node, "/internal/shards/credit", creditRequest)
+                .body(TransactionResponse.class);
+    }
+
+    /**
+     * Set the status of accounts owned by {@code node}.
+     */
+    public BulkStatusUpdateResponse updateStatuses(Node node, String status, List<String> accountNumbers) {
+        return post(node, "/internal/shards/bulk-status",
+                new BulkStatusUpdateRequest(accountNumbers, status))
+                .body(BulkStatusUpdateResponse.class);
+    }
+
+    /**
+     * Stream the accounts owned by {@code node} into {@code consumer}, one at a time.
+     */
+    public void forEachAccount(Node node, Consumer<AccountResponse> consumer) {
+        String path = "/internal/shards/accounts";
+        restClient.get()
+                .uri(node.getUrl() + path)
+                .headers(headers -> headers.addAll(shardAuthenticator.sign("GET", path, null)))
+                .exchange((req, res) -> {
+                    if (!res.getStatusCode().is2xxSuccessful()) {
+                        throw new RestClientException(
+                                "Listing accounts on " + node.getId() + " failed: " + res.getStatusCode());
+                    }
+                    try (MappingIterator<AccountResponse> accounts = objectMapper
+                            .readerFor(AccountResponse.class).readValues(res.getBody())) {
+                        accounts.forEachRemaining(consumer);
+                    }
+                    return null;
+                });
+    }
+
+    private RestClient.ResponseSpec post(Node node, String path, Object payload) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return restClient.post()
+                .uri(node.getUrl() + path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> headers.addAll(shardAuthenticator.sign("POST", path, body)))
+                .body(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, (req, res) -> {
+                    JsonNode error = objectMapper.readTree(res.getBody());
+                    throw new ShardRequestRejectedException(
+                            res.getStatusCode().value(),
+                            error.path("code").asText(null),
+                            error.path("message").asText(res.getStatusText()));
+                });
+    }
+}
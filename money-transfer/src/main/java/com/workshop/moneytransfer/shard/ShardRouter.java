@@ -0,0 +1,101 @@
+package com.workshop.moneytransfer.shard;
+
+import com.workshop.moneytransfer.config.ShardingProperties;
+import com.workshop.moneytransfer.config.ShardingProperties.Node;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which node owns an account. With sharding disabled every
+ * account is local.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardRouter {
+
+    private static final char ID_SEPARATOR = '.';
+
+    private final ShardingProperties properties;
+
+    private ConsistentHashRing ring;
+    private Map<String, Node> nodes;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        nodes = properties.getNodes().stream()
+                .collect(Collectors.toMap(Node::getId, Function.identity()));
+        if (!nodes.containsKey(properties.getNodeId())) {
+            throw new IllegalStateException(
+                    "sharding.node-id " + properties.getNodeId() + " is not in sharding.nodes");
+        }
+        if (properties.getSharedSecret() == null || properties.getSharedSecret().isBlank()) {
+            throw new IllegalStateException("sharding.shared-secret must be set when sharding is enabled");
+        }
+        ring = new ConsistentHashRing(nodes.keySet(), properties.getVirtualNodes());
+        log.info("Sharding enabled: node {} of {}", properties.getNodeId(), nodes.keySet());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getNodeId() {
+        return properties.getNodeId();
+    }
+
+    public boolean isLocal(String accountNumber) {
+        return !properties.isEnabled() || properties.getNodeId().equals(ring.ownerOf(accountNumber));
+    }
+
+    public Node ownerOf(String accountNumber) {
+        return nodes.get(ring.ownerOf(accountNumber));
+    }
+
+    public boolean isPeer(String nodeId) {
+        return properties.isEnabled() && nodes.containsKey(nodeId)
+                && !properties.getNodeId().equals(nodeId);
+    }
+
+    public List<Node> peers() {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        return nodes.values().stream()
+                .filter(node -> !node.getId().equals(properties.getNodeId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A new id for a record kept on this node, such as a hold or a scheduled
+     * transfer. With sharding enabled it is prefixed with the node id so
+     * later requests for the record can be routed back here.
+     */
+    public String newId() {
+        String id = UUID.randomUUID().toString();
+        return properties.isEnabled() ? properties.getNodeId() + ID_SEPARATOR + id : id;
+    }
+
+    /**
+     * The node that issued an id from {@link #newId()}, or null if the id
+     * carries no known node.
+     */
+    public Node ownerOfId(String id) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        int separator = id.lastIndexOf(ID_SEPARATOR);
+        return separator > 0 ? nodes.get(id.substring(0, separator)) : null;
+    }
+}
@@ -0,0 +1,257 @@
+package com.workshop.moneytransfer.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.moneytransfer.config.ShardingProperties.Node;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends account-scoped requests to the node that owns the account.
+ * Account reads and updates route on the path's account number; transfers,
+ * holds and scheduled transfers are created on the source account's node
+ * (from the body) and later addressed by an id that names that node.
+ * Requests from peers must carry a valid signature and a nonce not seen
+ * before; they are then always served locally. Unsigned or replayed
+ * requests to {@code /internal/shards} are refused.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    private static final String INTERNAL_PATH = "/internal/shards/";
+
+    private static final Set<String> ROUTED_BY_SOURCE =
+            Set.of("/api/transfers", "/api/holds", "/api/scheduled-transfers");
+
+    private static final Pattern ACCOUNT_PATH = Pattern.compile("^/api/accounts/([^/]+)(/.*)?$");
+    private static final Pattern HISTORY_PATH = Pattern.compile("^/api/transfers/history/([^/]+)$");
+    private static final Pattern HOLD_ACCOUNT_PATH =
+            Pattern.compile("^/api/holds/accounts/([^/]+)(/.*)?$");
+    private static final Pattern HOLD_PATH = Pattern.compile("^/api/holds/([^/]+)(/.*)?$");
+    private static final Pattern SCHEDULED_ACCOUNT_PATH =
+            Pattern.compile("^/api/scheduled-transfers/account/([^/]+)$");
+    private static final Pattern SCHEDULED_PATH = Pattern.compile("^/api/scheduled-transfers/([^/]+)$");
+
+    // Hop-by-hop headers (RFC 9110 7.6.1) and ones the container sets for the body it writes
+    private static final Set<String> UNFORWARDED_HEADERS = caseInsensitive(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE, HttpHeaders.CONTENT_LENGTH);
+
+    private final ShardRouter shardRouter;
+    private final ShardClient shardClient;
+    private final ShardAuthenticator shardAuthenticator;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !shardRouter.isEnabled()
+                || !(path.startsWith("/api/") || path.startsWith(INTERNAL_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String path = path(request);
+
+        if (request.getHeader(ShardClient.FORWARDED_HEADER) != null || path.startsWith(INTERNAL_PATH)) {
+            byte[] body = request.getInputStream().readAllBytes();
+            if (!shardAuthenticator.hasValidSignature(request)
+                    || !shardAuthenticator.matchesBody(request, body)
+                    || !shardAuthenticator.acceptNonce(request)) {
+                writeForbidden(response);
+                return;
+            }
+            ShardAuthenticator.markPeerRequest(request);
+            filterChain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        Node owner;
+        byte[] body = null;
+        if ("POST".equals(request.getMethod()) && ROUTED_BY_SOURCE.contains(path)) {
+            body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            owner = ownerOfAccount(sourceAccount(body));
+        } else {
+            owner = ownerFromPath(path);
+        }
+
+        if (owner == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (body == null) {
+            body = request.getInputStream().readAllBytes();
+        }
+        ResponseEntity<byte[]> forwarded = shardClient.forward(
+                owner, request.getMethod(), ShardAuthenticator.pathAndQuery(request),
+                request.getContentType(), body);
+
+        response.setStatus(forwarded.getStatusCode().value());
+        forwarded.getHeaders().forEach((name, values) -> {
+            if (!UNFORWARDED_HEADERS.contains(name)) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        if (forwarded.getBody() != null) {
+            response.getOutputStream().write(forwarded.getBody());
+        }
+    }
+
+    /**
+     * The remote node a path's account or record id belongs to, or null to serve it here.
+     * Bulk status updates and account listings are served here and fan out themselves.
+     */
+    private Node ownerFromPath(String path) {
+        Matcher account = ACCOUNT_PATH.matcher(path);
+        if (account.matches()) {
+            return "bulk-status".equals(account.group(1)) ? null : ownerOfAccount(account.group(1));
+        }
+        Matcher history = HISTORY_PATH.matcher(path);
+        if (history.matches()) {
+            return ownerOfAccount(history.group(1));
+        }
+        Matcher holdAccount = HOLD_ACCOUNT_PATH.matcher(path);
+        if (holdAccount.matches()) {
+            return ownerOfAccount(holdAccount.group(1));
+        }
+        Matcher hold = HOLD_PATH.matcher(path);
+        if (hold.matches()) {
+            return ownerOfId(hold.group(1));
+        }
+        Matcher scheduledAccount = SCHEDULED_ACCOUNT_PATH.matcher(path);
+        if (scheduledAccount.matches()) {
+            return ownerOfAccount(scheduledAccount.group(1));
+        }
+        Matcher scheduled = SCHEDULED_PATH.matcher(path);
+        return scheduled.matches() ? ownerOfId(scheduled.group(1)) : null;
+    }
+
+    private Node ownerOfAccount(String accountNumber) {
+        if (accountNumber == null || shardRouter.isLocal(accountNumber)) {
+            return null;
+        }
+        return shardRouter.ownerOf(accountNumber);
+    }
+
+    private Node ownerOfId(String id) {
+        Node owner = shardRouter.ownerOfId(id);
+        return owner == null || owner.getId().equals(shardRouter.getNodeId()) ? null : owner;
+    }
+
+    private String sourceAccount(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("fromAccountNumber").asText(null);
+        } catch (IOException e) {
+            // Malformed body: let the controller reject it locally
+            return null;
+        }
+    }
+
+    private void writeForbidden(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.FORBIDDEN;
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Request is not signed by a known shard node");
+        body.put("code", "SHARD_AUTHENTICATION_FAILED");
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return set;
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is available and complete at once
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
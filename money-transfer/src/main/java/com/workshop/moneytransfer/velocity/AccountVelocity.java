@@ -0,0 +1,61 @@
+package com.workshop.moneytransfer.velocity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outgoing transfer count and amount for one account over the last
+ * minute, hour and day.
+ */
+public final class AccountVelocity {
+
+    private final SlidingWindowCounter minute =
+            new SlidingWindowCounter(TimeUnit.MINUTES.toMillis(1), 12);
+    private final SlidingWindowCounter hour =
+            new SlidingWindowCounter(TimeUnit.HOURS.toMillis(1), 60);
+    private final SlidingWindowCounter day =
+            new SlidingWindowCounter(TimeUnit.DAYS.toMillis(1), 96);
+
+    private volatile long lastActivityMillis;
+
+    /**
+     * Record a transfer, then check it against the limits. If any limit is
+     * exceeded the transfer is taken back out and the breached limit is
+     * returned; otherwise null. Recording before checking means two racing
+     * transfers can both be refused, but the limit is never overshot.
+     */
+    public String tryRecord(long nowMillis, long amount, VelocityLimits limits) {
+        record(nowMillis, 1, amount);
+
+        String breached = null;
+        if (exceeds(minute, nowMillis, limits.getMinuteCount(), limits.minuteAmountMinor())) {
+            breached = "1 minute";
+        } else if (exceeds(hour, nowMillis, limits.getHourCount(), limits.hourAmountMinor())) {
+            breached = "1 hour";
+        } else if (exceeds(day, nowMillis, limits.getDayCount(), limits.dayAmountMinor())) {
+            breached = "24 hour";
+        }
+
+        if (breached != null) {
+            record(nowMillis, -1, -amount);
+        }
+        return breached;
+    }
+
+    public void record(long timestampMillis, int count, long amount) {
+        minute.add(timestampMillis, count, amount);
+        hour.add(timestampMillis, count, amount);
+        day.add(timestampMillis, count, amount);
+        if (count > 0 && timestampMillis > lastActivityMillis) {
+            lastActivityMillis = timestampMillis;
+        }
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    private static boolean exceeds(SlidingWindowCounter counter, long nowMillis,
+            long maxCount, long maxAmount) {
+        return counter.count(nowMillis) > maxCount || counter.amount(nowMillis) > maxAmount;
+    }
+}
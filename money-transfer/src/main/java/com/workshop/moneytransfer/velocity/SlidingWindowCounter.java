@@ -0,0 +1,85 @@
+package com.workshop.moneytransfer.velocity;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bucketed sliding window of (count, amount) totals.
+ * Each slot holds an immutable bucket stamped with its epoch; updates
+ * replace the bucket by CAS, and a slot whose epoch has fallen out of the
+ * window is simply overwritten by the next writer. Totals are accurate to
+ * one bucket width.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        if (bucketCount < 1 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Invalid sliding window configuration");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * Add to the bucket covering {@code timestampMillis}. Negative deltas undo
+     * an earlier add and are dropped if that bucket has already rolled over.
+     */
+    public void add(long timestampMillis, int count, long amount) {
+        long epoch = timestampMillis / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) bucketCount);
+
+        while (true) {
+            Bucket current = buckets.get(slot);
+            Bucket next;
+            if (current == null || current.epoch() < epoch) {
+                if (count < 0) {
+                    return;
+                }
+                next = new Bucket(epoch, count, amount);
+            } else if (current.epoch() == epoch) {
+                next = new Bucket(epoch, current.count() + count, current.amount() + amount);
+            } else {
+                // Timestamp is older than the window this slot now covers
+                return;
+            }
+            if (buckets.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    public long count(long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && inWindow(bucket, currentEpoch)) {
+                total += bucket.count();
+            }
+        }
+        return total;
+    }
+
+    public long amount(long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && inWindow(bucket, currentEpoch)) {
+                total += bucket.amount();
+            }
+        }
+        return total;
+    }
+
+    private boolean inWindow(Bucket bucket, long currentEpoch) {
+        return bucket.epoch() <= currentEpoch && bucket.epoch() > currentEpoch - bucketCount;
+    }
+
+    private record Bucket(long epoch, long count, long amount) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.workshop.moneytransfer.velocity;
+
+import com.workshop.moneytransfer.config.VelocityProperties;
+import com.workshop.moneytransfer.exception.VelocityLimitExceededException;
+import com.workshop.moneytransfer.model.Account;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-account outgoing velocity limits held entirely in memory.
+ * Windows are created on first transfer, rebuilt from the last 24 hours of
+ * successful transactions at startup, and evicted once idle. A transfer
+ * recorded here is taken back out if its database transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VelocityLimiter {
+
+    private static final int WARMUP_PAGE_SIZE = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final VelocityProperties properties;
+    private final Map<String, AccountVelocity> accounts = new ConcurrentHashMap<>();
+
+    public void checkAndRecord(Account account, BigDecimal amount) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        VelocityLimits limits = limitsFor(account.getTier());
+        long now = System.currentTimeMillis();
+        long amountMinor = VelocityLimits.toMinorUnits(amount);
+
+        AccountVelocity velocity = accounts.computeIfAbsent(
+                account.getAccountNumber(), k -> new AccountVelocity());
+        String breached = velocity.tryRecord(now, amountMinor, limits);
+        if (breached != null) {
+            throw new VelocityLimitExceededException(String.format(
+                    "Transfer limit for the last %s exceeded on account %s",
+                    breached, account.getAccountNumber()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        velocity.record(now, -1, -amountMinor);
+                    }
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFromRecentTransactions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        ZoneId zone = ZoneId.systemDefault();
+
+        long afterId = 0;
+        int replayed = 0;
+        List<Transaction> page;
+        do {
+            page = transactionRepository
+                    .findTop1000ByStatusAndTransactionDateAfterAndIdGreaterThanOrderById(
+                            "SUCCESS", since, afterId);
+            for (Transaction transaction : page) {
+                accounts.computeIfAbsent(transaction.getFromAccountNumber(), k -> new AccountVelocity())
+                        .record(transaction.getTransactionDate().atZone(zone).toInstant().toEpochMilli(),
+                                1, VelocityLimits.toMinorUnits(transaction.getAmount()));
+                afterId = transaction.getId();
+            }
+            replayed += page.size();
+        } while (page.size() == WARMUP_PAGE_SIZE);
+
+        log.info("Rebuilt velocity windows for {} accounts from {} transactions",
+                accounts.size(), replayed);
+    }
+
+    /**
+     * Drop windows with no transfer inside the longest limit. A transfer
+     * racing with eviction of its own idle window can be under-counted once.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleAccounts() {
+        long cutoff = System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(properties.getIdleEvictionMinutes());
+        accounts.values().removeIf(velocity -> velocity.getLastActivityMillis() < cutoff);
+    }
+
+    public int getTrackedAccountCount() {
+        return accounts.size();
+    }
+
+    private VelocityLimits limitsFor(String tier) {
+        VelocityLimits limits = properties.getTiers().get(tier != null ? tier : properties.getDefaultTier());
+        if (limits == null) {
+            limits = properties.getTiers().get(properties.getDefaultTier());
+        }
+        if (limits == null) {
+            throw new IllegalStateException("No velocity limits configured for tier " + tier);
+        }
+        return limits;
+    }
+}
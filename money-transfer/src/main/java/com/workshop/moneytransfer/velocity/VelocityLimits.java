@@ -0,0 +1,46 @@
+package com.workshop.moneytransfer.velocity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Outgoing transfer limits for one account tier.
+ * Amounts are in the account's currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VelocityLimits {
+
+    private int minuteCount = 10;
+
+    private BigDecimal minuteAmount = new BigDecimal("10000");
+
+    private int hourCount = 100;
+
+    private BigDecimal hourAmount = new BigDecimal("50000");
+
+    private int dayCount = 500;
+
+    private BigDecimal dayAmount = new BigDecimal("100000");
+
+    public long minuteAmountMinor() {
+        return toMinorUnits(minuteAmount);
+    }
+
+    public long hourAmountMinor() {
+        return toMinorUnits(hourAmount);
+    }
+
+    public long dayAmountMinor() {
+        return toMinorUnits(dayAmount);
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+}
@@ -0,0 +1,178 @@
+package com.workshop.moneytransfer.archive;
+
+import com.workshop.moneytransfer.config.ArchiveProperties;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiverTest {
+
+        private static final int PARTITION = 202401;
+
+        @TempDir
+        Path directory;
+
+        @Mock
+        private TransactionRepository transactionRepository;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        private ArchiveProperties properties;
+        private TransactionSegmentStore segmentStore;
+        private TransactionArchiver archiver;
+
+        @BeforeEach
+        void setUp() throws Exception {
+                properties = new ArchiveProperties();
+                properties.setDirectory(directory.toString());
+                segmentStore = new TransactionSegmentStore(properties);
+                segmentStore.init();
+                archiver = new TransactionArchiver(transactionRepository, segmentStore, transactionTemplate, properties);
+        }
+
+        @AfterEach
+        void tearDown() {
+                segmentStore.close();
+        }
+
+        @Test
+        void testArchivePartitionWritesSegmentBeforeDeletingRows() throws Exception {
+                // Arrange - two pages: a full one of 1000 rows and a partial one of 500
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 0L))
+                                .thenReturn(transactions(1, 1000));
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 1000L))
+                                .thenReturn(transactions(1001, 500));
+                when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+                        // The segment must already be readable when the rows are deleted
+                        assertTrue(Files.exists(directory.resolve(TransactionSegment.fileName(PARTITION))));
+                        return invocation.getArgument(0, TransactionCallback.class).doInTransaction(null);
+                });
+                when(transactionRepository.deletePartition(PARTITION, 1500L)).thenReturn(1500);
+
+                // Act
+                archiver.archivePartition(PARTITION);
+
+                // Assert
+                InOrder inOrder = inOrder(transactionRepository);
+                inOrder.verify(transactionRepository, times(2))
+                                .findTop1000ByPartitionMonthAndIdGreaterThanOrderById(anyInt(), anyLong());
+                inOrder.verify(transactionRepository).deletePartition(PARTITION, 1500L);
+
+                List<Transaction> archived = segmentStore.findByAccount("1111111111");
+                assertEquals(1500, archived.size());
+                assertEquals("txn-1", archived.get(0).getTransactionId());
+                assertEquals("txn-1500", archived.get(1499).getTransactionId());
+        }
+
+        @Test
+        void testLargePartitionIsSpilledAndMergedPerAccount() throws Exception {
+                // Arrange - three pages cycling through three accounts, with a buffer far
+                // smaller than the partition so the writer spills many runs
+                properties.setWriteBufferBytes(16 * 1024);
+                String[] accounts = {"1111111111", "2222222222", "3333333333"};
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 0L))
+                                .thenReturn(cycling(1, 1000, accounts));
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 1000L))
+                                .thenReturn(cycling(1001, 1000, accounts));
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 2000L))
+                                .thenReturn(cycling(2001, 500, accounts));
+                when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+                when(transactionRepository.deletePartition(PARTITION, 2500L)).thenReturn(2500);
+
+                // Act
+                archiver.archivePartition(PARTITION);
+
+                // Assert - each account has every row it took part in, across all pages, in id order
+                for (String account : accounts) {
+                        List<Transaction> archived = segmentStore.findByAccount(account);
+                        List<Long> expected = LongStream.rangeClosed(1, 2500)
+                                        .filter(id -> involves(id, account, accounts))
+                                        .boxed()
+                                        .collect(Collectors.toList());
+                        assertEquals(expected, archived.stream().map(Transaction::getId).collect(Collectors.toList()));
+                }
+                try (Stream<Path> files = Files.list(directory)) {
+                        assertEquals(List.of(TransactionSegment.fileName(PARTITION)), files
+                                        .map(file -> file.getFileName().toString())
+                                        .collect(Collectors.toList()));
+                }
+        }
+
+        @Test
+        void testEmptyPartitionIsNotWrittenOrDeleted() throws Exception {
+                // Arrange
+                when(transactionRepository.findTop1000ByPartitionMonthAndIdGreaterThanOrderById(PARTITION, 0L))
+                                .thenReturn(List.of());
+
+                // Act
+                archiver.archivePartition(PARTITION);
+
+                // Assert
+                assertTrue(segmentStore.isEmpty());
+                verify(transactionRepository, never()).deletePartition(anyInt(), anyLong());
+                verifyNoInteractions(transactionTemplate);
+        }
+
+        // Transaction id moves funds from accounts[id % n] to accounts[(id + 1) % n]
+        private static List<Transaction> cycling(long firstId, int count, String[] accounts) {
+                List<Transaction> page = transactions(firstId, count);
+                for (Transaction transaction : page) {
+                        int from = (int) (transaction.getId() % accounts.length);
+                        transaction.setFromAccountNumber(accounts[from]);
+                        transaction.setToAccountNumber(accounts[(from + 1) % accounts.length]);
+                }
+                return page;
+        }
+
+        private static boolean involves(long id, String account, String[] accounts) {
+                int from = (int) (id % accounts.length);
+                return accounts[from].equals(account) || accounts[(from + 1) % accounts.length].equals(account);
+        }
+
+        private static List<Transaction> transactions(long firstId, int count) {
+                return LongStream.range(firstId, firstId + count)
+                                .mapToObj(id -> {
+                                        Transaction transaction = new Transaction();
+                                        transaction.setId(id);
+                                        transaction.setTransactionId("txn-" + id);
+                                        transaction.setFromAccountNumber("1111111111");
+                                        transaction.setToAccountNumber("2222222222");
+                                        transaction.setAmount(new BigDecimal("1.00"));
+                                        transaction.setCurrency("USD");
+                                        transaction.setStatus("SUCCESS");
+                                        transaction.setTransactionDate(LocalDateTime.of(2024, 1, 15, 9, 30)
+                                                        .plusSeconds(id));
+                                        return transaction;
+                                })
+                                .collect(Collectors.toList());
+        }
+}
@@ -0,0 +1,74 @@
+package com.workshop.moneytransfer.archive;
+
+import com.workshop.moneytransfer.model.Transaction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TransactionSegmentTest {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void testRoundTripByAccount() throws Exception {
+                // Arrange
+                TransactionSegment.Writer writer = new TransactionSegment.Writer(202401, directory, 1024 * 1024);
+                writer.add(transaction(1L, "1111111111", "2222222222", "100.00", null));
+                writer.add(transaction(2L, "2222222222", "3333333333", "25.50", "Rent"));
+                writer.add(transaction(3L, "3333333333", "1111111111", "10.01", null));
+
+                // Act
+                Path file = writer.writeTo();
+
+                // Assert
+                try (TransactionSegment segment = TransactionSegment.open(file)) {
+                        assertEquals(202401, segment.getPartitionMonth());
+
+                        List<Transaction> first = segment.findByAccount("1111111111");
+                        assertEquals(2, first.size());
+                        assertEquals("txn-1", first.get(0).getTransactionId());
+                        assertEquals("txn-3", first.get(1).getTransactionId());
+
+                        Transaction rent = segment.findByAccount("3333333333").get(0);
+                        assertEquals(2L, rent.getId());
+                        assertEquals(new BigDecimal("25.50"), rent.getAmount());
+                        assertEquals("Rent", rent.getDescription());
+                        assertNull(rent.getFailureReason());
+                        assertEquals(LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_000_000),
+                                        rent.getTransactionDate());
+
+                        assertTrue(segment.findByAccount("9999999999").isEmpty());
+                }
+                Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file);
+                assertFalse(permissions.contains(PosixFilePermission.OWNER_WRITE));
+                assertFalse(permissions.contains(PosixFilePermission.GROUP_WRITE));
+                assertFalse(permissions.contains(PosixFilePermission.OTHERS_WRITE));
+        }
+
+        private Transaction transaction(Long id, String from, String to, String amount,
+                        String description) {
+                Transaction transaction = new Transaction();
+                transaction.setId(id);
+                transaction.setTransactionId("txn-" + id);
+                transaction.setFromAccountNumber(from);
+                transaction.setToAccountNumber(to);
+                transaction.setAmount(new BigDecimal(amount));
+                transaction.setCurrency("USD");
+                transaction.setStatus("SUCCESS");
+                transaction.setDescription(description);
+                transaction.setTransactionDate(LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_000_000));
+                return transaction;
+        }
+}
@@ -0,0 +1,63 @@
+package com.workshop.moneytransfer.benchmark;
+
+import com.workshop.moneytransfer.service.FxConversion;
+import com.workshop.moneytransfer.service.FxRateTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the cross-currency step on the transfer hot path.
+ * {@code baselineDebitCredit} is the same-currency arithmetic the transfer
+ * already does; {@code convert} adds the rate lookup and fixed-point rounding.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   -Dexec.args="-cp %classpath com.workshop.moneytransfer.benchmark.FxConversionBenchmark"
+ * (exec:exec, not exec:java, so the forked benchmark JVM inherits the test classpath)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FxConversionBenchmark {
+
+    private FxRateTable table;
+    private BigDecimal balance;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        table = FxRateTable.of(Map.of(
+                "USD/EUR", new BigDecimal("0.92"),
+                "USD/GBP", new BigDecimal("0.79"),
+                "EUR/USD", new BigDecimal("1.087"),
+                "GBP/USD", new BigDecimal("1.266")));
+        balance = new BigDecimal("10000.00");
+        amount = new BigDecimal("123.45");
+    }
+
+    @Benchmark
+    public BigDecimal baselineDebitCredit() {
+        return balance.subtract(amount).add(amount);
+    }
+
+    @Benchmark
+    public FxConversion convert() {
+        return table.convert(amount, "USD", "EUR");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FxConversionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.workshop.moneytransfer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.model.Account;
+import com.workshop.moneytransfer.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a 100-row history and account list, entity vs.
+ * read-side DTO. Payload sizes are printed once per trial.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   -Dexec.args="-cp %classpath com.workshop.moneytransfer.benchmark.ResponseSerializationBenchmark"
+ * (exec:exec, not exec:java, so the forked benchmark JVM inherits the test classpath)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private static final int ROWS = 100;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> transactionEntities;
+    private List<TransactionResponse> transactionResponses;
+    private List<Account> accountEntities;
+    private List<AccountResponse> accountResponses;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        transactionEntities = new ArrayList<>();
+        accountEntities = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setTransactionId(UUID.randomUUID().toString());
+            transaction.setFromAccountNumber("1234567890");
+            transaction.setToAccountNumber(String.format("%010d", i));
+            transaction.setAmount(new BigDecimal("125.50"));
+            transaction.setCurrency("USD");
+            transaction.setStatus("SUCCESS");
+            transaction.setDescription("Benchmark transfer " + i);
+            transaction.setTransactionDate(now);
+            transaction.setPartitionMonth(Transaction.partitionOf(now));
+            transactionEntities.add(transaction);
+
+            Account account = new Account();
+            account.setId((long) i);
+            account.setAccountNumber(String.format("%010d", i));
+            account.setAccountHolderName("Holder " + i);
+            account.setBalance(new BigDecimal("1000.00"));
+            account.setCurrency("USD");
+            account.setStatus("ACTIVE");
+            account.setTier("STANDARD");
+            account.setCreatedAt(now);
+            account.setUpdatedAt(now);
+            accountEntities.add(account);
+        }
+        transactionResponses = transactionEntities.stream().map(TransactionResponse::from).toList();
+        accountResponses = accountEntities.stream().map(AccountResponse::from).toList();
+
+        System.out.printf("%nPayload bytes for %d rows: transactions entity=%d dto=%d, "
+                        + "accounts entity=%d dto=%d%n", ROWS,
+                objectMapper.writeValueAsBytes(transactionEntities).length,
+                objectMapper.writeValueAsBytes(transactionResponses).length,
+                objectMapper.writeValueAsBytes(accountEntities).length,
+                objectMapper.writeValueAsBytes(accountResponses).length);
+    }
+
+    @Benchmark
+    public byte[] transactionHistoryEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(transactionEntities);
+    }
+
+    @Benchmark
+    public byte[] transactionHistoryDto() throws Exception {
+        return objectMapper.writeValueAsBytes(transactionResponses);
+    }
+
+    @Benchmark
+    public byte[] accountListEntity() throws Exception {
+        return objectMapper.writeValueAsBytes(accountEntities);
+    }
+
+    @Benchmark
+    public byte[] accountListDto() throws Exception {
+        return objectMapper.writeValueAsBytes(accountResponses);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResponseSerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
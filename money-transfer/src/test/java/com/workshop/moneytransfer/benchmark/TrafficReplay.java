@@ -0,0 +1,256 @@
+package com.workshop.moneytransfer.benchmark;
+
+import com.workshop.moneytransfer.capture.CaptureLog;
+import com.workshop.moneytransfer.capture.CaptureLog.CapturedRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a traffic capture against a fresh instance and reports latency
+ * percentiles and result divergence per endpoint.
+ *
+ * Start the target with an empty database and
+ * {@code --replay.snapshot-import-enabled=true}; the capture's account
+ * snapshot is loaded first. Requests are sent open-loop at their captured
+ * arrival times divided by {@code --speed}, and latency is measured from the
+ * scheduled send time so a stalled target can't hide queueing delay.
+ * Accounts created during the capture are mapped to the numbers the target
+ * assigns them.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   -Dexec.args="-cp %classpath com.workshop.moneytransfer.benchmark.TrafficReplay
+ *   --capture=data/capture/capture-20260101-120000.mtcap --target=http://localhost:8080 --speed=2"
+ */
+public class TrafficReplay {
+
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("(?<!\\d)\\d{10}(?!\\d)");
+    private static final Pattern CREATED_ACCOUNT =
+            Pattern.compile("\"accountNumber\"\\s*:\\s*\"(\\d{10})\"");
+    private static final int MAX_DIVERGENCE_EXAMPLES = 20;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String target;
+    private final double speed;
+
+    // Captured pseudonym of a created account -> number the target assigned
+    private final Map<String, String> createdAccounts = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> divergences = new ConcurrentLinkedQueue<>();
+
+    public TrafficReplay(String target, double speed) {
+        this.target = target;
+        this.speed = speed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        if (!options.containsKey("capture")) {
+            System.err.println("Usage: TrafficReplay --capture=<file.mtcap> [--snapshot=<file.accounts>]"
+                    + " [--target=http://localhost:8080] [--speed=1]");
+            System.exit(2);
+        }
+
+        Path capture = Paths.get(options.get("capture"));
+        Path snapshot = Paths.get(options.getOrDefault("snapshot",
+                capture.toString().replaceFirst("\\.mtcap$", ".accounts")));
+        TrafficReplay replay = new TrafficReplay(
+                options.getOrDefault("target", "http://localhost:8080"),
+                Double.parseDouble(options.getOrDefault("speed", "1")));
+
+        if (Files.exists(snapshot)) {
+            replay.loadSnapshot(snapshot);
+        } else {
+            System.out.println("No snapshot at " + snapshot + ", replaying against existing data");
+        }
+        replay.run(CaptureLog.readAll(capture));
+        replay.report(System.out::println);
+    }
+
+    void loadSnapshot(Path snapshot) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder()
+                        .uri(URI.create(target + "/internal/replay/accounts"))
+                        .header("Content-Type", "text/plain")
+                        .POST(HttpRequest.BodyPublishers.ofFile(snapshot))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Snapshot import failed with " + response.statusCode()
+                    + ", is the target running with replay.snapshot-import-enabled=true?");
+        }
+        System.out.println("Snapshot loaded: " + response.body());
+    }
+
+    void run(List<CapturedRequest> requests) {
+        List<CapturedRequest> ordered = new ArrayList<>(requests);
+        ordered.sort(Comparator.comparingLong(CapturedRequest::arrivalMicros));
+        if (ordered.isEmpty()) {
+            return;
+        }
+        long firstArrivalMicros = ordered.get(0).arrivalMicros();
+        long startNanos = System.nanoTime();
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(ordered.size());
+        for (CapturedRequest captured : ordered) {
+            long dueNanos = startNanos
+                    + (long) ((captured.arrivalMicros() - firstArrivalMicros) * 1000 / speed);
+            long waitNanos;
+            while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            inFlight.add(httpClient.sendAsync(toHttpRequest(captured), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        long latencyNanos = System.nanoTime() - dueNanos;
+                        onResponse(captured, response, error, latencyNanos);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+    }
+
+    void report(Consumer<String> out) {
+        out.accept(String.format("%n%-45s %7s %9s %9s %9s %9s %9s %9s %8s",
+                "endpoint", "count", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "cap p50", "cap p99", "diverged"));
+        Map<String, EndpointStats> sorted = new TreeMap<>(stats);
+        EndpointStats total = new EndpointStats();
+        sorted.forEach((endpoint, endpointStats) -> {
+            out.accept(endpointStats.format(endpoint));
+            total.merge(endpointStats);
+        });
+        out.accept(total.format("TOTAL"));
+
+        if (!divergences.isEmpty()) {
+            out.accept(String.format("%nFirst %d divergences:", divergences.size()));
+            divergences.forEach(line -> out.accept("  " + line));
+        }
+    }
+
+    private HttpRequest toHttpRequest(CapturedRequest captured) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(target + mapAccounts(captured.pathAndQuery())))
+                .timeout(Duration.ofSeconds(30));
+        if (captured.contentType() != null) {
+            builder.header("Content-Type", captured.contentType());
+        }
+        HttpRequest.BodyPublisher body = captured.body().length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(
+                        mapAccounts(new String(captured.body(), StandardCharsets.UTF_8)));
+        return builder.method(captured.method(), body).build();
+    }
+
+    private String mapAccounts(String text) {
+        if (createdAccounts.isEmpty()) {
+            return text;
+        }
+        Matcher matcher = ACCOUNT_NUMBER.matcher(text);
+        StringBuilder result = new StringBuilder(text.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(result, createdAccounts.getOrDefault(matcher.group(), matcher.group()));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private void onResponse(CapturedRequest captured, HttpResponse<String> response, Throwable error,
+            long latencyNanos) {
+        int status = error != null ? -1 : response.statusCode();
+        String endpoint = captured.method() + " "
+                + ACCOUNT_NUMBER.matcher(captured.pathAndQuery().split("\\?")[0]).replaceAll("{account}");
+
+        if (captured.createdAccountNumber() != null && response != null) {
+            Matcher matcher = CREATED_ACCOUNT.matcher(response.body());
+            if (matcher.find()) {
+                createdAccounts.put(captured.createdAccountNumber(), matcher.group(1));
+            }
+        }
+
+        boolean diverged = status != captured.status();
+        stats.computeIfAbsent(endpoint, key -> new EndpointStats())
+                .add(latencyNanos, captured.latencyMicros() * 1000, diverged);
+        if (diverged && divergences.size() < MAX_DIVERGENCE_EXAMPLES) {
+            divergences.add(String.format("%s %s: captured %d, replayed %s", captured.method(),
+                    captured.pathAndQuery(), captured.status(),
+                    error != null ? error.getClass().getSimpleName() : String.valueOf(status)));
+        }
+    }
+
+    private static final class EndpointStats {
+
+        private long[] latencies = new long[64];
+        private long[] capturedLatencies = new long[64];
+        private int count;
+        private int diverged;
+
+        synchronized void add(long latencyNanos, long capturedLatencyNanos, boolean divergedResult) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+                capturedLatencies = Arrays.copyOf(capturedLatencies, count * 2);
+            }
+            latencies[count] = latencyNanos;
+            capturedLatencies[count] = capturedLatencyNanos;
+            count++;
+            if (divergedResult) {
+                diverged++;
+            }
+        }
+
+        synchronized void merge(EndpointStats other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], other.capturedLatencies[i], false);
+            }
+            diverged += other.diverged;
+        }
+
+        synchronized String format(String endpoint) {
+            long[] replayed = Arrays.copyOf(latencies, count);
+            long[] captured = Arrays.copyOf(capturedLatencies, count);
+            Arrays.sort(replayed);
+            Arrays.sort(captured);
+            return String.format("%-45s %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %8d",
+                    endpoint, count,
+                    percentileMillis(replayed, 0.50), percentileMillis(replayed, 0.90),
+                    percentileMillis(replayed, 0.99), percentileMillis(replayed, 1.0),
+                    percentileMillis(captured, 0.50), percentileMillis(captured, 0.99),
+                    diverged);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.workshop.moneytransfer.cache;
+
+import com.workshop.moneytransfer.config.RecentActivityProperties;
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+class RecentActivityCacheTest {
+
+        private static final String ACCOUNT = "1234567890";
+
+        @Mock
+        private TransactionRepository transactionRepository;
+
+        @Mock
+        private AccountRepository accountRepository;
+
+        private RecentActivityCache cache;
+
+        @BeforeEach
+        void setUp() {
+                RecentActivityProperties properties = new RecentActivityProperties();
+                properties.setCapacity(3);
+                properties.setMaxAccounts(1);
+                cache = new RecentActivityCache(transactionRepository, accountRepository, properties,
+                                new SimpleMeterRegistry());
+        }
+
+        @Test
+        void testUnknownAccountDoesNotTakeASlot() {
+                // Arrange - the only slot is held by a real account
+                when(accountRepository.existsByAccountNumber(ACCOUNT)).thenReturn(true);
+                when(accountRepository.existsByAccountNumber("0000000000")).thenReturn(false);
+                cache.recent(ACCOUNT, 3);
+
+                // Act
+                List<TransactionResponse> unknown = cache.recent("0000000000", 3);
+
+                // Assert
+                assertTrue(unknown.isEmpty());
+                assertEquals(1, cache.size());
+                verify(transactionRepository, never()).findRecentOutgoingViews(eq("0000000000"), any());
+                cache.recent(ACCOUNT, 3);
+                verify(accountRepository, times(1)).existsByAccountNumber(ACCOUNT);
+        }
+
+        @Test
+        void testCommitsAreNotBlockedByTheWarmUpRead() throws Exception {
+                // Arrange - a transfer commits on another thread while the ring is being loaded
+                when(accountRepository.existsByAccountNumber(anyString())).thenReturn(true);
+                Transaction committed = transaction("t2", 2);
+                when(transactionRepository.findRecentOutgoingViews(eq(ACCOUNT), any())).thenAnswer(invocation -> {
+                        Thread commit = new Thread(() -> cache.recordAfterCommit(committed));
+                        commit.start();
+                        commit.join(5_000);
+                        assertFalse(commit.isAlive(), "Append waited for the warm-up read");
+                        return List.of(TransactionResponse.from(transaction("t1", 1)));
+                });
+                when(transactionRepository.findRecentIncomingViews(eq(ACCOUNT), any())).thenReturn(List.of());
+
+                // Act
+                List<TransactionResponse> recent = cache.recent(ACCOUNT, 3);
+
+                // Assert - the row committed during the read is merged with the loaded ones
+                assertEquals(List.of("t1", "t2"), recent.stream().map(TransactionResponse::getTransactionId).toList());
+        }
+
+        private static Transaction transaction(String id, int minute) {
+                Transaction transaction = new Transaction();
+                transaction.setTransactionId(id);
+                transaction.setFromAccountNumber(ACCOUNT);
+                transaction.setToAccountNumber("0987654321");
+                transaction.setAmount(new BigDecimal("10.00"));
+                transaction.setCurrency("USD");
+                transaction.setStatus("SUCCESS");
+                transaction.setTransactionDate(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(minute));
+                return transaction;
+        }
+}
@@ -0,0 +1,91 @@
+package com.workshop.moneytransfer.cache;
+
+import com.workshop.moneytransfer.dto.TransactionResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class RecentActivityRingTest {
+
+        private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        @Test
+        void testKeepsOnlyMostRecentEntries() {
+                // Arrange
+                RecentActivityRing ring = new RecentActivityRing(3);
+                ring.fill(List.of());
+
+                // Act
+                for (int i = 1; i <= 5; i++) {
+                        ring.add(transaction("t" + i, "SUCCESS", i));
+                }
+
+                // Assert
+                assertEquals(List.of("t3", "t4", "t5"), ids(ring.latest(10)));
+                assertEquals(List.of("t4", "t5"), ids(ring.latest(2)));
+        }
+
+        @Test
+        void testRecordingSameTransactionReplacesEntry() {
+                // Arrange
+                RecentActivityRing ring = new RecentActivityRing(3);
+                ring.fill(List.of());
+                ring.add(transaction("saga-1", "PENDING", 1));
+                ring.add(transaction("t2", "SUCCESS", 2));
+
+                // Act
+                ring.add(transaction("saga-1", "SUCCESS", 1));
+
+                // Assert
+                List<TransactionResponse> latest = ring.latest(3);
+                assertEquals(List.of("saga-1", "t2"), ids(latest));
+                assertEquals("SUCCESS", latest.get(0).getStatus());
+        }
+
+        @Test
+        void testLoadMergesEntriesAddedBeforeWarmUp() {
+                // Arrange
+                RecentActivityRing ring = new RecentActivityRing(3);
+                // Committed while the database read was in flight
+                ring.add(transaction("t4", "SUCCESS", 4));
+
+                // Act
+                boolean filled = ring.fill(List.of(
+                                transaction("t3", "SUCCESS", 3),
+                                transaction("t1", "SUCCESS", 1),
+                                transaction("t2", "SUCCESS", 2)));
+                // A concurrent read that finished second
+                boolean filledAgain = ring.fill(List.of(transaction("t0", "SUCCESS", 0)));
+
+                // Assert
+                assertTrue(filled);
+                assertFalse(filledAgain);
+                assertTrue(ring.isLoaded());
+                assertEquals(List.of("t2", "t3", "t4"), ids(ring.latest(3)));
+
+                ring.add(transaction("t5", "SUCCESS", 5));
+                assertEquals(List.of("t3", "t4", "t5"), ids(ring.latest(3)));
+        }
+
+        private static TransactionResponse transaction(String id, String status, int minute) {
+                TransactionResponse transaction = new TransactionResponse();
+                transaction.setTransactionId(id);
+                transaction.setFromAccountNumber("1234567890");
+                transaction.setToAccountNumber("0987654321");
+                transaction.setAmount(new BigDecimal("10.00"));
+                transaction.setCurrency("USD");
+                transaction.setStatus(status);
+                transaction.setTransactionDate(START.plusMinutes(minute));
+                return transaction;
+        }
+
+        private static List<String> ids(List<TransactionResponse> transactions) {
+                return transactions.stream().map(TransactionResponse::getTransactionId).toList();
+        }
+}
@@ -0,0 +1,106 @@
+package com.workshop.moneytransfer.capture;
+
+import com.workshop.moneytransfer.capture.CaptureLog.CapturedRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CaptureLogTest {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void testRoundTripWithOutOfOrderArrivals() throws IOException {
+                // Arrange
+                Path path = directory.resolve("test" + CaptureLog.FILE_SUFFIX);
+                byte[] body = "{\"fromAccountNumber\":\"1111111111\",\"amount\":10}"
+                                .getBytes(StandardCharsets.UTF_8);
+
+                // Act
+                try (CaptureLog.Writer writer = new CaptureLog.Writer(Files.newOutputStream(path), 1_000L)) {
+                        writer.write(new CapturedRequest(5_000, "POST", "/api/transfers",
+                                        "application/json", body, 201, 1_200, null));
+                        // Completed later but arrived earlier
+                        writer.write(new CapturedRequest(4_000, "GET", "/api/accounts/2222222222/balance",
+                                        null, new byte[0], 200, 300, null));
+                        writer.write(new CapturedRequest(9_000, "POST", "/api/accounts", "application/json",
+                                        new byte[0], 201, 800, "3333333333"));
+                }
+                List<CapturedRequest> requests = CaptureLog.readAll(path);
+
+                // Assert
+                assertEquals(3, requests.size());
+                assertEquals(5_000, requests.get(0).arrivalMicros());
+                assertArrayEquals(body, requests.get(0).body());
+                assertEquals("application/json", requests.get(0).contentType());
+                assertEquals(4_000, requests.get(1).arrivalMicros());
+                assertEquals("/api/accounts/2222222222/balance", requests.get(1).pathAndQuery());
+                assertNull(requests.get(1).contentType());
+                assertEquals(200, requests.get(1).status());
+                assertEquals(300, requests.get(1).latencyMicros());
+                assertEquals("3333333333", requests.get(2).createdAccountNumber());
+        }
+
+        @Test
+        void testTornFinalRecordIsDropped() throws IOException {
+                // Arrange
+                Path path = directory.resolve("torn" + CaptureLog.FILE_SUFFIX);
+                try (CaptureLog.Writer writer = new CaptureLog.Writer(Files.newOutputStream(path), 1_000L)) {
+                        writer.write(new CapturedRequest(100, "GET", "/api/accounts", null,
+                                        new byte[0], 200, 50, null));
+                        writer.write(new CapturedRequest(200, "GET", "/api/accounts/1234567890", null,
+                                        new byte[0], 200, 50, null));
+                }
+                byte[] bytes = Files.readAllBytes(path);
+                Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+                // Act
+                List<CapturedRequest> requests = CaptureLog.readAll(path);
+
+                // Assert
+                assertEquals(1, requests.size());
+        }
+
+        @Test
+        void testPseudonymsAreStableAndShapePreserving() {
+                // Arrange
+                Pseudonymizer pseudonymizer = new Pseudonymizer("test-key");
+
+                // Act
+                String body = pseudonymizer.rewriteBody("application/json", "{\"fromAccountNumber\":\"1234567890\","
+                                + "\"toAccountNumber\":\"0987654321\",\"amount\":1234567890,"
+                                + "\"reference\":\"5555555555\",\"accountHolderName\":\"John Doe\"}");
+                String path = pseudonymizer.rewritePath("/api/transfers/history/1234567890?page=0");
+                String list = pseudonymizer.rewriteBody("application/json",
+                                "{\"accountNumbers\":[\"1234567890\"],\"status\":\"FROZEN\"}");
+                String lines = pseudonymizer.rewriteBody("text/plain", "1234567890\n");
+                String unscoped = pseudonymizer.rewritePath("/api/transfers/1234567890");
+
+                // Assert
+                String pseudonym = pseudonymizer.accountNumber("1234567890");
+                assertTrue(pseudonym.matches("\\d{10}"));
+                assertNotEquals("1234567890", pseudonym);
+                assertEquals("/api/transfers/history/" + pseudonym + "?page=0", path);
+                assertTrue(body.contains("\"fromAccountNumber\":\"" + pseudonym + "\""));
+                assertFalse(body.contains("0987654321"));
+                assertFalse(body.contains("John Doe"));
+                // Numbers outside the account fields are left alone
+                assertTrue(body.contains("\"amount\":1234567890"));
+                assertTrue(body.contains("\"reference\":\"5555555555\""));
+                assertEquals("/api/transfers/1234567890", unscoped);
+                assertEquals("{\"accountNumbers\":[\"" + pseudonym + "\"],\"status\":\"FROZEN\"}", list);
+                assertEquals(pseudonym + "\n", lines);
+                assertNotEquals(pseudonym, new Pseudonymizer("other-key").accountNumber("1234567890"));
+        }
+}
@@ -0,0 +1,65 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.model.Account;
+import com.workshop.moneytransfer.service.AccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Tag("integration")
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountControllerIntegrationTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private AccountService accountService;
+
+        @Test
+        void testBulkStatusUpdateFromTextBody() throws Exception {
+                // Arrange - one line per account, with a blank line and an unknown account
+                Account first = accountService.createAccount("Bulk One", new BigDecimal("10.00"));
+                Account second = accountService.createAccount("Bulk Two", new BigDecimal("20.00"));
+                String body = first.getAccountNumber() + "\n"
+                                + "\n"
+                                + "0000000000\n"
+                                + second.getAccountNumber() + "\r\n";
+
+                // Act & Assert
+                mockMvc.perform(put("/api/accounts/bulk-status")
+                                .param("status", "BLOCKED")
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status").value("BLOCKED"))
+                                .andExpect(jsonPath("$.requested").value(3))
+                                .andExpect(jsonPath("$.updated").value(2))
+                                .andExpect(jsonPath("$.notFound[0]").value("0000000000"));
+
+                assertEquals("BLOCKED", accountService.getAccount(first.getAccountNumber()).getStatus());
+                assertEquals("BLOCKED", accountService.getAccount(second.getAccountNumber()).getStatus());
+        }
+
+        @Test
+        void testBulkStatusUpdateFromTextBodyRejectsUnknownStatus() throws Exception {
+                // Act & Assert
+                mockMvc.perform(put("/api/accounts/bulk-status")
+                                .param("status", "FROZEN")
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .content("1234567890\n"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+        }
+}
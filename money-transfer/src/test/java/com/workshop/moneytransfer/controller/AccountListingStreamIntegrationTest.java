@@ -0,0 +1,80 @@
+package com.workshop.moneytransfer.controller;
+
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.service.AccountService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountListingStreamIntegrationTest {
+
+        @LocalServerPort
+        private int port;
+
+        @MockBean
+        private AccountService accountService;
+
+        private final HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+
+        @Test
+        void testFailureBeforeFirstFlushReturnsErrorResponse() throws Exception {
+                // Arrange
+                doAnswer(invocation -> {
+                        Consumer<AccountResponse> sink = invocation.getArgument(0);
+                        sink.accept(account(0));
+                        throw new RestClientException("peer unavailable");
+                }).when(accountService).forEachAccountView(any());
+
+                // Act
+                HttpResponse<String> response = client.send(listAccounts(), HttpResponse.BodyHandlers.ofString());
+
+                // Assert - nothing had been sent, so the half-written array is replaced by the error
+                assertEquals(500, response.statusCode());
+                assertTrue(response.body().startsWith("{"));
+                assertTrue(response.body().contains("\"code\":\"INTERNAL_ERROR\""));
+        }
+
+        @Test
+        void testFailureAfterFlushAbortsTheConnection() {
+                // Arrange - enough accounts to push the first part of the array to the client
+                doAnswer(invocation -> {
+                        Consumer<AccountResponse> sink = invocation.getArgument(0);
+                        for (int i = 0; i < 2_000; i++) {
+                                sink.accept(account(i));
+                        }
+                        throw new RestClientException("peer unavailable");
+                }).when(accountService).forEachAccountView(any());
+
+                // Act & Assert - the body is cut off instead of ending as a well-formed 200
+                assertThrows(IOException.class,
+                                () -> client.send(listAccounts(), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        private HttpRequest listAccounts() {
+                return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts")).build();
+        }
+
+        private static AccountResponse account(int i) {
+                return new AccountResponse(String.format("%010d", i), "Holder " + i,
+                                new BigDecimal("100.00"), "USD", "ACTIVE", "STANDARD", null, null);
+        }
+}
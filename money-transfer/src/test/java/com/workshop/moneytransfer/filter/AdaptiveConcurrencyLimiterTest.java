@@ -0,0 +1,96 @@
+package com.workshop.moneytransfer.filter;
+
+import com.workshop.moneytransfer.filter.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AdaptiveConcurrencyLimiterTest {
+
+        @Test
+        void testWritesAreShedBeforeReads() {
+                // Arrange
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                                10, 1, 100, 0.2, 0.5, 0, 0);
+
+                // Act
+                for (int i = 0; i < 5; i++) {
+                        assertTrue(limiter.acquire(Priority.WRITE, 0));
+                }
+
+                // Assert
+                assertFalse(limiter.acquire(Priority.WRITE, 0));
+                assertTrue(limiter.acquire(Priority.READ, 0));
+                assertEquals(6, limiter.getInFlight());
+                assertEquals(1, limiter.getRejectedCount(Priority.WRITE));
+                assertEquals(0, limiter.getRejectedCount(Priority.READ));
+        }
+
+        @Test
+        void testLimitShrinksWhenLatencyRises() {
+                // Arrange
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                                50, 1, 100, 0.5, 1.0, 0, 0);
+                for (int i = 0; i < 50; i++) {
+                        limiter.acquire(Priority.READ, 0);
+                }
+
+                // Act - establish a 1ms baseline, then report 20ms samples
+                for (int i = 0; i < 20; i++) {
+                        limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+                        limiter.acquire(Priority.READ, 0);
+                }
+                int baseline = limiter.getLimit();
+                for (int i = 0; i < 20; i++) {
+                        limiter.release(TimeUnit.MILLISECONDS.toNanos(20), false);
+                        limiter.acquire(Priority.READ, 0);
+                }
+
+                // Assert
+                assertTrue(limiter.getLimit() < baseline);
+        }
+
+        @Test
+        void testDroppedRequestBacksOffLimit() {
+                // Arrange
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                                20, 1, 100, 0.2, 1.0, 0, 0);
+                limiter.acquire(Priority.WRITE, 0);
+
+                // Act
+                limiter.release(0, true);
+
+                // Assert
+                assertEquals(18, limiter.getLimit());
+                assertEquals(0, limiter.getInFlight());
+        }
+
+        @Test
+        void testQueuedRequestIsAdmittedOnRelease() throws Exception {
+                // Arrange
+                AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                                1, 1, 1, 0.2, 1.0, 1, 1);
+                assertTrue(limiter.acquire(Priority.READ, 0));
+
+                // Act
+                Thread releaser = new Thread(() -> {
+                        try {
+                                Thread.sleep(50);
+                        } catch (InterruptedException ignored) {
+                                Thread.currentThread().interrupt();
+                        }
+                        limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+                });
+                releaser.start();
+                boolean admitted = limiter.acquire(Priority.READ, 2000);
+                releaser.join();
+
+                // Assert
+                assertTrue(admitted);
+                assertEquals(1, limiter.getInFlight());
+        }
+}
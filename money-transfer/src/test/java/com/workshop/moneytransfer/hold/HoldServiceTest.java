@@ -0,0 +1,208 @@
+package com.workshop.moneytransfer.hold;
+
+import com.workshop.moneytransfer.config.HoldProperties;
+import com.workshop.moneytransfer.config.ShardingProperties;
+import com.workshop.moneytransfer.dto.AccountResponse;
+import com.workshop.moneytransfer.exception.HoldNotFoundException;
+import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.TransactionRepository;
+import com.workshop.moneytransfer.service.TransferService;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class HoldServiceTest {
+
+        @TempDir
+        Path directory;
+
+        private AccountRepository accountRepository;
+        private TransferService transferService;
+        private ReservationLedger ledger;
+        private HoldService holdService;
+
+        @BeforeEach
+        void setUp() {
+                accountRepository = mock(AccountRepository.class);
+                transferService = mock(TransferService.class);
+                ledger = new ReservationLedger();
+                holdService = new HoldService(ledger, mock(HoldJournal.class), accountRepository,
+                                mock(TransactionRepository.class), transferService,
+                                new ShardRouter(new ShardingProperties()), new HoldProperties());
+
+                when(accountRepository.existsByAccountNumber("0987654321")).thenReturn(true);
+                when(accountRepository.findViewByAccountNumber("1234567890"))
+                                .thenReturn(Optional.of(account(new BigDecimal("100.00"))));
+        }
+
+        @Test
+        void testConcurrentAuthorizationsNeverExceedBalance() throws Exception {
+                // Arrange
+                ExecutorService executor = Executors.newFixedThreadPool(16);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+
+                // Act
+                for (int i = 0; i < 200; i++) {
+                        results.add(executor.submit(() -> {
+                                start.await();
+                                try {
+                                        holdService.authorize("1234567890", "0987654321",
+                                                        new BigDecimal("7.00"), "Card purchase", 60L);
+                                        return true;
+                                } catch (InsufficientFundsException e) {
+                                        return false;
+                                }
+                        }));
+                }
+                start.countDown();
+                int authorized = 0;
+                for (Future<Boolean> result : results) {
+                        if (result.get()) {
+                                authorized++;
+                        }
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+                // Assert: 14 x 7.00 fits in 100.00, a 15th would not
+                assertEquals(14, authorized);
+                assertEquals(new BigDecimal("98.00"), holdService.getHeldAmount("1234567890"));
+        }
+
+        @Test
+        void testCaptureSettlesThroughTransferAndReleasesHold() {
+                // Arrange
+                Hold hold = holdService.authorize("1234567890", "0987654321",
+                                new BigDecimal("60.00"), "Hotel", 60L);
+                Transaction transaction = new Transaction();
+                transaction.setTransactionId(hold.getHoldId());
+                when(transferService.transferHeldFunds(eq(hold.getHoldId()), eq("1234567890"),
+                                eq("0987654321"), eq(new BigDecimal("45.00")), anyString()))
+                                .thenReturn(transaction);
+
+                // Act
+                Hold captured = holdService.capture(hold.getHoldId(), new BigDecimal("45.00"), null);
+
+                // Assert
+                assertEquals(Hold.CAPTURED, captured.getStatus());
+                assertEquals(new BigDecimal("45.00"), captured.getCapturedAmount());
+                assertEquals(new BigDecimal("0.00"), holdService.getHeldAmount("1234567890"));
+                assertThrows(IllegalStateException.class, () -> holdService.voidHold(hold.getHoldId()));
+        }
+
+        @Test
+        void testFailedCaptureKeepsFundsHeld() {
+                // Arrange
+                Hold hold = holdService.authorize("1234567890", "0987654321",
+                                new BigDecimal("60.00"), "Hotel", 60L);
+                when(transferService.transferHeldFunds(anyString(), anyString(), anyString(), any(), any()))
+                                .thenThrow(new IllegalStateException("Destination account is not active"));
+
+                // Act & Assert
+                assertThrows(IllegalStateException.class,
+                                () -> holdService.capture(hold.getHoldId(), null, null));
+                assertEquals(Hold.AUTHORIZED, hold.getStatus());
+                assertEquals(new BigDecimal("60.00"), holdService.getHeldAmount("1234567890"));
+
+                holdService.voidHold(hold.getHoldId());
+                assertEquals(new BigDecimal("0.00"), holdService.getHeldAmount("1234567890"));
+                assertEquals(0, ledger.trackedAccounts());
+        }
+
+        @Test
+        void testAmountScaleFollowsAccountCurrency() {
+                // Arrange - a dinar account alongside the dollar one
+                when(accountRepository.findViewByAccountNumber("5555555555"))
+                                .thenReturn(Optional.of(new AccountResponse("5555555555", "Jane Doe",
+                                                new BigDecimal("100.000"), "KWD", "ACTIVE", "STANDARD",
+                                                LocalDateTime.now(), LocalDateTime.now())));
+
+                // Act
+                Hold dinars = holdService.authorize("5555555555", "0987654321",
+                                new BigDecimal("12.345"), "Fils", 60L);
+
+                // Assert - 3 decimals fit KWD but not USD, and the rejected hold reserves nothing
+                assertEquals(new BigDecimal("12.345"), holdService.getHeldAmount("5555555555"));
+                assertEquals(Hold.AUTHORIZED, dinars.getStatus());
+                assertThrows(IllegalArgumentException.class, () -> holdService.authorize("1234567890",
+                                "0987654321", new BigDecimal("12.345"), "Cents", 60L));
+                assertEquals(new BigDecimal("0.00"), holdService.getHeldAmount("1234567890"));
+                assertEquals(1, ledger.trackedAccounts());
+        }
+
+        @Test
+        void testRecoveryFromJournalDoesNotRestoreCapturedHolds() throws Exception {
+                // Arrange - a journal holding one captured, one crash-captured and one open hold
+                HoldProperties properties = new HoldProperties();
+                properties.setJournalPath(directory.resolve("holds.journal").toString());
+                TransactionRepository transactionRepository = mock(TransactionRepository.class);
+                HoldJournal journal = new HoldJournal(properties);
+                HoldService writer = new HoldService(ledger, journal, accountRepository,
+                                transactionRepository, transferService,
+                                new ShardRouter(new ShardingProperties()), properties);
+
+                Hold captured = writer.authorize("1234567890", "0987654321",
+                                new BigDecimal("10.00"), "Captured", 60L);
+                Hold capturedBeforeCrash = writer.authorize("1234567890", "0987654321",
+                                new BigDecimal("20.00"), "Captured, not journaled", 60L);
+                Hold open = writer.authorize("1234567890", "0987654321",
+                                new BigDecimal("30.00"), "Open", 60L);
+                Transaction transaction = new Transaction();
+                transaction.setTransactionId(captured.getHoldId());
+                when(transferService.transferHeldFunds(eq(captured.getHoldId()), anyString(), anyString(),
+                                any(), anyString())).thenReturn(transaction);
+                writer.capture(captured.getHoldId(), null, null);
+                journal.close();
+
+                when(transactionRepository.findByTransactionId(anyString())).thenReturn(Optional.empty());
+                when(transactionRepository.findByTransactionId(capturedBeforeCrash.getHoldId()))
+                                .thenReturn(Optional.of(new Transaction()));
+
+                // Act - restart with an empty ledger
+                ReservationLedger recoveredLedger = new ReservationLedger();
+                HoldJournal recoveredJournal = new HoldJournal(properties);
+                HoldService recovered = new HoldService(recoveredLedger, recoveredJournal, accountRepository,
+                                transactionRepository, transferService,
+                                new ShardRouter(new ShardingProperties()), properties);
+                recovered.recover();
+
+                // Assert - only the open hold is back, and the compacted journal holds only it
+                assertThrows(HoldNotFoundException.class, () -> recovered.getHold(captured.getHoldId()));
+                assertThrows(HoldNotFoundException.class,
+                                () -> recovered.getHold(capturedBeforeCrash.getHoldId()));
+                assertEquals(Hold.AUTHORIZED, recovered.getHold(open.getHoldId()).getStatus());
+                assertEquals(new BigDecimal("30.00"), recovered.getHeldAmount("1234567890"));
+                assertEquals(List.of(open.getHoldId()), recoveredJournal.recover().stream()
+                                .map(Hold::getHoldId)
+                                .toList());
+                recoveredJournal.close();
+        }
+
+        private static AccountResponse account(BigDecimal balance) {
+                return new AccountResponse("1234567890", "John Doe", balance, "USD", "ACTIVE",
+                                "STANDARD", LocalDateTime.now(), LocalDateTime.now());
+        }
+}
@@ -0,0 +1,87 @@
+package com.workshop.moneytransfer.outbox;
+
+import com.workshop.moneytransfer.config.OutboxProperties;
+import com.workshop.moneytransfer.model.OutboxEvent;
+import com.workshop.moneytransfer.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+class OutboxRelayTest {
+
+        private OutboxEventRepository outboxEventRepository;
+        private OutboxSink fileSink;
+        private OutboxSink httpSink;
+        private SimpleMeterRegistry meterRegistry;
+        private OutboxRelay relay;
+
+        @BeforeEach
+        void setUp() {
+                outboxEventRepository = mock(OutboxEventRepository.class);
+                fileSink = mock(OutboxSink.class);
+                httpSink = mock(OutboxSink.class);
+                when(fileSink.getName()).thenReturn("file");
+                when(httpSink.getName()).thenReturn("http");
+                meterRegistry = new SimpleMeterRegistry();
+
+                relay = new OutboxRelay(outboxEventRepository, List.of(fileSink, httpSink),
+                                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                                new OutboxProperties(), meterRegistry);
+        }
+
+        @Test
+        void testBatchIsMarkedPublishedAfterAllSinksAccept() throws Exception {
+                // Arrange
+                List<OutboxEvent> batch = List.of(event(1L), event(2L));
+                when(outboxEventRepository.findUnpublished(any(Pageable.class))).thenReturn(batch);
+
+                // Act
+                int delivered = relay.relayBatch();
+
+                // Assert
+                assertEquals(2, delivered);
+                verify(fileSink).deliver(batch);
+                verify(httpSink).deliver(batch);
+                verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+                assertEquals(2.0, meterRegistry.get("outbox.relay.delivered").tag("sink", "http").counter().count());
+        }
+
+        @Test
+        void testSinkFailureLeavesBatchForRedelivery() throws Exception {
+                // Arrange
+                List<OutboxEvent> batch = List.of(event(1L));
+                when(outboxEventRepository.findUnpublished(any(Pageable.class))).thenReturn(batch);
+                doThrow(new IllegalStateException("connection refused")).when(httpSink).deliver(batch);
+
+                // Act
+                int delivered = relay.relayBatch();
+
+                // Assert
+                assertEquals(0, delivered);
+                verify(outboxEventRepository, never()).markPublished(any(), any());
+                assertEquals(1.0, meterRegistry.get("outbox.relay.failures").tag("sink", "http").counter().count());
+        }
+
+        private OutboxEvent event(Long id) {
+                OutboxEvent event = new OutboxEvent();
+                event.setId(id);
+                event.setEventId("event-" + id);
+                event.setEventType(OutboxWriter.TRANSFER_COMPLETED);
+                event.setAggregateId("txn-" + id);
+                event.setPayload("{}");
+                event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+                return event;
+        }
+}
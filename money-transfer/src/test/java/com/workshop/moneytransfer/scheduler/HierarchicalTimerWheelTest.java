@@ -0,0 +1,57 @@
+package com.workshop.moneytransfer.scheduler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class HierarchicalTimerWheelTest {
+
+        private static final long START = 1_000_000L;
+
+        @Test
+        void testItemsFireWhenTheirTickIsReached() {
+                // Arrange
+                HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 8, START);
+                wheel.schedule("near", START + 3_000);
+                wheel.schedule("far", START + 500_000);
+
+                // Act & Assert
+                assertTrue(wheel.advance(START + 2_999).isEmpty());
+                assertEquals(List.of("near"), wheel.advance(START + 3_000));
+                assertTrue(wheel.advance(START + 499_999).isEmpty());
+                assertEquals(List.of("far"), wheel.advance(START + 500_000));
+                assertEquals(0, wheel.size());
+        }
+
+        @Test
+        void testOverdueItemsFireOnNextAdvance() {
+                // Arrange
+                HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(1000, 8, START);
+
+                // Act
+                wheel.schedule("missed", START - 60_000);
+
+                // Assert
+                assertEquals(1, wheel.size());
+                assertEquals(List.of("missed"), wheel.advance(START));
+        }
+
+        @Test
+        void testItemsCascadeAcrossLevels() {
+                // Arrange
+                HierarchicalTimerWheel<Integer> wheel = new HierarchicalTimerWheel<>(1000, 4, START);
+                for (int i = 1; i <= 200; i++) {
+                        wheel.schedule(i, START + i * 1_000L);
+                }
+
+                // Act & Assert
+                for (int i = 1; i <= 200; i++) {
+                        assertEquals(List.of(i), wheel.advance(START + i * 1_000L));
+                }
+                assertEquals(0, wheel.size());
+        }
+}
@@ -0,0 +1,163 @@
+package com.workshop.moneytransfer.scheduler;
+
+import com.workshop.moneytransfer.exception.VelocityLimitExceededException;
+import com.workshop.moneytransfer.model.Account;
+import com.workshop.moneytransfer.model.ScheduledTransfer;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.ScheduledTransferRepository;
+import com.workshop.moneytransfer.service.AccountService;
+import com.workshop.moneytransfer.velocity.VelocityLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@Tag("integration")
+@SpringBootTest(properties = {"velocity.enabled=false", "archive.enabled=false"})
+class ScheduledTransferDispatcherIntegrationTest {
+
+        @TempDir
+        static Path dataDirectory;
+
+        @DynamicPropertySource
+        static void dataPaths(DynamicPropertyRegistry registry) {
+                registry.add("archive.directory", () -> dataDirectory.resolve("archive").toString());
+                registry.add("holds.journal-path", () -> dataDirectory.resolve("holds.journal").toString());
+                registry.add("outbox.file.path", () -> dataDirectory.resolve("events.jsonl").toString());
+        }
+
+        @Autowired
+        private ScheduledTransferDispatcher dispatcher;
+
+        @Autowired
+        private ScheduledTransferRepository scheduledTransferRepository;
+
+        @Autowired
+        private AccountRepository accountRepository;
+
+        @Autowired
+        private AccountService accountService;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @SpyBean
+        private VelocityLimiter velocityLimiter;
+
+        @Test
+        void testOccurrenceCanOnlyBeClaimedOnce() {
+                // Arrange
+                LocalDateTime occurrence = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+                ScheduledTransfer instruction = scheduledTransferRepository.save(
+                                instruction("1111111111", "2222222222", "DAILY", occurrence));
+
+                // Act
+                int first = claim(instruction, occurrence);
+                int second = claim(instruction, occurrence);
+
+                // Assert
+                assertEquals(1, first);
+                assertEquals(0, second);
+                ScheduledTransfer stored = scheduledTransferRepository.findById(instruction.getId()).orElseThrow();
+                assertEquals(1, stored.getExecutionCount());
+                assertEquals(occurrence.plusDays(1), stored.getNextExecutionAt());
+        }
+
+        @Test
+        void testFailedTransferAdvancesRecurringInstruction() throws InterruptedException {
+                // Arrange - the source cannot cover the amount
+                Account from = accountService.createAccount("Scheduled Sender", new BigDecimal("10.00"));
+                Account to = accountService.createAccount("Scheduled Receiver", new BigDecimal("0.00"));
+                LocalDateTime occurrence = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+                ScheduledTransfer instruction = scheduledTransferRepository.save(instruction(
+                                from.getAccountNumber(), to.getAccountNumber(), "DAILY", occurrence));
+
+                // Act
+                ScheduledTransfer stored = dispatchUntilExecuted(instruction);
+
+                // Assert - the occurrence is consumed, the instruction stays active for the next one
+                assertEquals(1, stored.getExecutionCount());
+                assertEquals("ACTIVE", stored.getStatus());
+                assertEquals(occurrence.plusDays(1), stored.getNextExecutionAt());
+                assertNotNull(stored.getLastFailureReason());
+                assertTrue(stored.getLastFailureReason().contains("Insufficient funds"));
+                assertEquals(0, new BigDecimal("10.00").compareTo(
+                                accountRepository.findByAccountNumber(from.getAccountNumber())
+                                                .orElseThrow().getBalance()));
+        }
+
+        @Test
+        void testVelocityRejectionConsumesOccurrence() throws InterruptedException {
+                // Arrange - the source is funded, but over its velocity limit
+                Account from = accountService.createAccount("Velocity Sender", new BigDecimal("500.00"));
+                Account to = accountService.createAccount("Velocity Receiver", new BigDecimal("0.00"));
+                doThrow(new VelocityLimitExceededException("Velocity limit exceeded for account "
+                                + from.getAccountNumber()))
+                                .when(velocityLimiter).checkAndRecord(
+                                                argThat(account -> account.getAccountNumber()
+                                                                .equals(from.getAccountNumber())),
+                                                any());
+                LocalDateTime occurrence = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+                ScheduledTransfer instruction = scheduledTransferRepository.save(instruction(
+                                from.getAccountNumber(), to.getAccountNumber(), "ONCE", occurrence));
+
+                // Act
+                ScheduledTransfer stored = dispatchUntilExecuted(instruction);
+
+                // Assert - a business failure, not retried on the next refresh
+                assertEquals(1, stored.getExecutionCount());
+                assertEquals("FAILED", stored.getStatus());
+                assertNull(stored.getNextExecutionAt());
+                assertTrue(stored.getLastFailureReason().contains("Velocity limit exceeded"));
+                assertEquals(0, new BigDecimal("500.00").compareTo(
+                                accountRepository.findByAccountNumber(from.getAccountNumber())
+                                                .orElseThrow().getBalance()));
+        }
+
+        private ScheduledTransfer dispatchUntilExecuted(ScheduledTransfer instruction) throws InterruptedException {
+                dispatcher.refreshWindow();
+                ScheduledTransfer stored = instruction;
+                for (int attempt = 0; attempt < 50 && stored.getExecutionCount() == 0; attempt++) {
+                        Thread.sleep(100);
+                        dispatcher.tick();
+                        stored = scheduledTransferRepository.findById(instruction.getId()).orElseThrow();
+                }
+                return stored;
+        }
+
+        private int claim(ScheduledTransfer instruction, LocalDateTime occurrence) {
+                return transactionTemplate.execute(status -> scheduledTransferRepository.claimOccurrence(
+                                instruction.getId(), occurrence, occurrence.plusDays(1), "ACTIVE",
+                                null, null, LocalDateTime.now()));
+        }
+
+        private static ScheduledTransfer instruction(String from, String to, String recurrence,
+                        LocalDateTime nextExecutionAt) {
+                ScheduledTransfer instruction = new ScheduledTransfer();
+                instruction.setInstructionId(UUID.randomUUID().toString());
+                instruction.setFromAccountNumber(from);
+                instruction.setToAccountNumber(to);
+                instruction.setAmount(new BigDecimal("100.00"));
+                instruction.setDescription("Scheduled test");
+                instruction.setRecurrence(recurrence);
+                instruction.setNextExecutionAt(nextExecutionAt);
+                instruction.setStatus("ACTIVE");
+                return instruction;
+        }
+}
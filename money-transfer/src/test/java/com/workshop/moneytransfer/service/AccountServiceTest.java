@@ -0,0 +1,171 @@
+package com.workshop.moneytransfer.service;
+
+import com.workshop.moneytransfer.config.ShardingProperties;
+import com.workshop.moneytransfer.dto.BulkStatusUpdateResponse;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.shard.ShardClient;
+import com.workshop.moneytransfer.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+class AccountServiceTest {
+
+        @Mock
+        private AccountRepository accountRepository;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        @Mock
+        private ShardRouter shardRouter;
+
+        @Mock
+        private ShardClient shardClient;
+
+        @Mock
+        private FxRateService fxRateService;
+
+        @InjectMocks
+        private AccountService accountService;
+
+        private final List<Integer> chunkSizes = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+                chunkSizes.clear();
+        }
+
+        @Test
+        void testBulkStatusUpdateSplitsAtChunkBoundary() {
+                // Arrange - every account exists
+                runTransactionsInline();
+                List<String> accountNumbers = accountNumbers(0, 2001);
+                when(accountRepository.findExistingAccountNumbers(anyCollection())).thenAnswer(invocation -> {
+                        Collection<String> chunk = invocation.getArgument(0);
+                        chunkSizes.add(chunk.size());
+                        return new ArrayList<>(chunk);
+                });
+                when(accountRepository.updateStatusByAccountNumbers(anyCollection(), eq("BLOCKED"), any()))
+                                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+
+                // Act
+                BulkStatusUpdateResponse response = accountService.updateAccountStatuses(accountNumbers, "BLOCKED");
+
+                // Assert
+                assertEquals(List.of(1000, 1000, 1), chunkSizes);
+                assertEquals(2001, response.getRequested());
+                assertEquals(2001, response.getUpdated());
+                assertTrue(response.getNotFound().isEmpty());
+                verify(transactionTemplate, times(3)).execute(any());
+        }
+
+        @Test
+        void testBulkStatusUpdateReportsUnknownAccounts() {
+                // Arrange - odd-numbered accounts do not exist
+                runTransactionsInline();
+                List<String> accountNumbers = accountNumbers(0, 6);
+                when(accountRepository.findExistingAccountNumbers(anyCollection())).thenAnswer(invocation ->
+                                invocation.<Collection<String>>getArgument(0).stream()
+                                                .filter(number -> Long.parseLong(number) % 2 == 0)
+                                                .collect(Collectors.toList()));
+                when(accountRepository.updateStatusByAccountNumbers(anyCollection(), eq("INACTIVE"), any()))
+                                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+
+                // Act
+                BulkStatusUpdateResponse response = accountService.updateAccountStatuses(accountNumbers, "INACTIVE");
+
+                // Assert
+                assertEquals(6, response.getRequested());
+                assertEquals(3, response.getUpdated());
+                assertEquals(List.of("1000000001", "1000000003", "1000000005"), response.getNotFound());
+        }
+
+        @Test
+        void testBulkStatusUpdateCountsDuplicatesWithinAChunkOnce() {
+                // Arrange
+                runTransactionsInline();
+                List<String> accountNumbers = List.of("1000000000", " 1000000000 ", "", "1000000001");
+                when(accountRepository.findExistingAccountNumbers(anyCollection())).thenAnswer(invocation ->
+                                new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+                when(accountRepository.updateStatusByAccountNumbers(anyCollection(), eq("BLOCKED"), any()))
+                                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+
+                // Act
+                BulkStatusUpdateResponse response = accountService.updateAccountStatuses(accountNumbers, "BLOCKED");
+
+                // Assert
+                assertEquals(2, response.getRequested());
+                assertEquals(2, response.getUpdated());
+        }
+
+        @Test
+        void testBulkStatusUpdateSendsRemoteAccountsToTheirOwner() {
+                // Arrange - 1000000001 lives on node-b
+                runTransactionsInline();
+                ShardingProperties.Node nodeB = new ShardingProperties.Node();
+                nodeB.setId("node-b");
+                when(shardRouter.isEnabled()).thenReturn(true);
+                when(shardRouter.isLocal(anyString())).thenAnswer(invocation ->
+                                !"1000000001".equals(invocation.getArgument(0)));
+                when(shardRouter.ownerOf("1000000001")).thenReturn(nodeB);
+                when(accountRepository.findExistingAccountNumbers(anyCollection())).thenAnswer(invocation ->
+                                new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+                when(accountRepository.updateStatusByAccountNumbers(anyCollection(), eq("BLOCKED"), any()))
+                                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+                when(shardClient.updateStatuses(nodeB, "BLOCKED", List.of("1000000001")))
+                                .thenReturn(new BulkStatusUpdateResponse("BLOCKED", 1, 0, List.of("1000000001")));
+
+                // Act
+                BulkStatusUpdateResponse response = accountService.updateAccountStatuses(
+                                accountNumbers(0, 3), "BLOCKED");
+
+                // Assert
+                assertEquals(3, response.getRequested());
+                assertEquals(2, response.getUpdated());
+                assertEquals(List.of("1000000001"), response.getNotFound());
+                verify(accountRepository).updateStatusByAccountNumbers(
+                                eq(Set.of("1000000000", "1000000002")), eq("BLOCKED"), any());
+        }
+
+        @Test
+        void testBulkStatusUpdateRejectsUnknownStatus() {
+                // Act & Assert
+                assertThrows(IllegalArgumentException.class,
+                                () -> accountService.updateAccountStatuses(List.of("1000000000"), "FROZEN"));
+                verifyNoInteractions(accountRepository);
+        }
+
+        private void runTransactionsInline() {
+                when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        }
+
+        private static List<String> accountNumbers(int from, int count) {
+                return IntStream.range(from, from + count)
+                                .mapToObj(i -> String.valueOf(1_000_000_000L + i))
+                                .collect(Collectors.toList());
+        }
+}
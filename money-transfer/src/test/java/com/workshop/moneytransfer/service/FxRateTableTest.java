@@ -0,0 +1,56 @@
+package com.workshop.moneytransfer.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class FxRateTableTest {
+
+        @Test
+        void testConvertRoundsHalfEvenToTargetMinorUnit() {
+                // Arrange
+                FxRateTable table = FxRateTable.of(Map.of(
+                                "USD/EUR", new BigDecimal("0.925"),
+                                "USD/JPY", new BigDecimal("151.37")));
+
+                // Act
+                FxConversion eur = table.convert(new BigDecimal("10.01"), "USD", "EUR");
+                FxConversion jpy = table.convert(new BigDecimal("10.01"), "USD", "JPY");
+
+                // Assert
+                assertEquals(new BigDecimal("0.92500000"), eur.rate());
+                assertEquals(new BigDecimal("9.26"), eur.amount());
+                assertEquals(new BigDecimal("1515"), jpy.amount());
+        }
+
+        @Test
+        void testKnownCurrenciesComeFromEitherSideOfAPair() {
+                FxRateTable table = FxRateTable.of(Map.of("USD/EUR", new BigDecimal("0.92")));
+
+                assertTrue(table.hasCurrency("USD"));
+                assertTrue(table.hasCurrency("EUR"));
+                assertFalse(table.hasCurrency("XYZ"));
+                assertFalse(table.hasCurrency("JPY"));
+        }
+
+        @Test
+        void testMissingPairIsRejected() {
+                FxRateTable table = FxRateTable.of(Map.of("USD/EUR", new BigDecimal("0.92")));
+
+                assertThrows(IllegalStateException.class,
+                                () -> table.convert(BigDecimal.TEN, "EUR", "USD"));
+        }
+
+        @Test
+        void testInvalidRatesAreRejected() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> FxRateTable.of(Map.of("USD/EUR", BigDecimal.ZERO)));
+                assertThrows(IllegalArgumentException.class,
+                                () -> FxRateTable.of(Map.of("USDEUR", BigDecimal.ONE)));
+        }
+}
@@ -1,11 +1,17 @@
 package com.workshop.moneytransfer.service;
 
+import com.workshop.moneytransfer.archive.TransactionSegmentStore;
+import com.workshop.moneytransfer.cache.RecentActivityCache;
+import com.workshop.moneytransfer.dto.TransactionResponse;
 import com.workshop.moneytransfer.exception.AccountNotFoundException;
 import com.workshop.moneytransfer.exception.InsufficientFundsException;
+import com.workshop.moneytransfer.hold.ReservationLedger;
 import com.workshop.moneytransfer.model.Account;
 import com.workshop.moneytransfer.model.Transaction;
+import com.workshop.moneytransfer.outbox.OutboxWriter;
 import com.workshop.moneytransfer.repository.AccountRepository;
 import com.workshop.moneytransfer.repository.TransactionRepository;
+import com.workshop.moneytransfer.velocity.VelocityLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -15,7 +21,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +43,27 @@ class TransferServiceTest {
         @Mock
         private TransactionRepository transactionRepository;
 
+        @Mock
+        private FxRateService fxRateService;
+
+        @Mock
+        private TransactionSegmentStore segmentStore;
+
+        @Mock
+        private VelocityLimiter velocityLimiter;
+
+        @Mock
+        private OutboxWriter outboxWriter;
+
+        @Mock
+        private FailedTransferRecorder failedTransferRecorder;
+
+        @Mock
+        private RecentActivityCache recentActivityCache;
+
+        @Mock
+        private ReservationLedger reservationLedger;
+
         @InjectMocks
         private TransferService transferService;
 
@@ -62,9 +94,9 @@ class TransferServiceTest {
                 // Arrange
                 BigDecimal transferAmount = new BigDecimal("300.00");
 
-                when(accountRepository.findByAccountNumber("1234567890"))
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
                                 .thenReturn(Optional.of(fromAccount));
-                when(accountRepository.findByAccountNumber("0987654321"))
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
                                 .thenReturn(Optional.of(toAccount));
 
                 Transaction mockTransaction = new Transaction();
@@ -86,6 +118,35 @@ class TransferServiceTest {
 
                 verify(accountRepository, times(2)).save(any(Account.class));
                 verify(transactionRepository, times(1)).save(any(Transaction.class));
+                verify(outboxWriter).append(OutboxWriter.TRANSFER_COMPLETED, mockTransaction);
+        }
+
+        @Test
+        void testCrossCurrencyTransfer() {
+                // Arrange
+                toAccount.setCurrency("EUR");
+
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
+                                .thenReturn(Optional.of(fromAccount));
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
+                                .thenReturn(Optional.of(toAccount));
+                when(fxRateService.convert(new BigDecimal("100.00"), "USD", "EUR"))
+                                .thenReturn(new FxConversion(
+                                                new BigDecimal("0.92000000"), new BigDecimal("92.00")));
+                when(transactionRepository.save(any(Transaction.class)))
+                                .thenAnswer(invocation -> invocation.getArgument(0));
+
+                // Act
+                Transaction result = transferService.transfer(
+                                "1234567890", "0987654321", new BigDecimal("100.00"), "FX transfer");
+
+                // Assert
+                assertEquals(new BigDecimal("900.00"), fromAccount.getBalance());
+                assertEquals(new BigDecimal("592.00"), toAccount.getBalance());
+                assertEquals("USD", result.getCurrency());
+                assertEquals(new BigDecimal("0.92000000"), result.getExchangeRate());
+                assertEquals(new BigDecimal("92.00"), result.getConvertedAmount());
+                assertEquals("EUR", result.getConvertedCurrency());
         }
 
         @Test
@@ -93,12 +154,10 @@ class TransferServiceTest {
                 // Arrange
                 BigDecimal transferAmount = new BigDecimal("1500.00");
 
-                when(accountRepository.findByAccountNumber("1234567890"))
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
                                 .thenReturn(Optional.of(fromAccount));
-                when(accountRepository.findByAccountNumber("0987654321"))
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
                                 .thenReturn(Optional.of(toAccount));
-                when(transactionRepository.save(any(Transaction.class)))
-                                .thenReturn(new Transaction());
 
                 // Act & Assert
                 assertThrows(InsufficientFundsException.class, () -> {
@@ -106,15 +165,16 @@ class TransferServiceTest {
                                         "1234567890", "0987654321", transferAmount, "Test transfer");
                 });
 
-                // Verify failed transaction was recorded
-                verify(transactionRepository, times(1)).save(any(Transaction.class));
+                // Verify failed transaction was recorded outside the transfer transaction
+                verify(failedTransferRecorder, times(1)).record(argThat(t -> "FAILED".equals(t.getStatus())));
+                verify(transactionRepository, never()).save(any(Transaction.class));
                 verify(accountRepository, never()).save(any(Account.class));
         }
 
         @Test
         void testTransferWithNonExistentSourceAccount() {
                 // Arrange
-                when(accountRepository.findByAccountNumber(anyString()))
+                when(accountRepository.findByAccountNumberForUpdate(anyString()))
                                 .thenReturn(Optional.empty());
 
                 // Act & Assert
@@ -127,10 +187,10 @@ class TransferServiceTest {
 
         @Test
         void testTransferWithNonExistentDestinationAccount() {
-                // Arrange
-                when(accountRepository.findByAccountNumber("1234567890"))
+                // Arrange - accounts are locked in number order, so the source may not be reached
+                lenient().when(accountRepository.findByAccountNumberForUpdate("1234567890"))
                                 .thenReturn(Optional.of(fromAccount));
-                when(accountRepository.findByAccountNumber("0987654321"))
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
                                 .thenReturn(Optional.empty());
 
                 // Act & Assert
@@ -146,9 +206,9 @@ class TransferServiceTest {
                 // Arrange
                 fromAccount.setStatus("INACTIVE");
 
-                when(accountRepository.findByAccountNumber("1234567890"))
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
                                 .thenReturn(Optional.of(fromAccount));
-                when(accountRepository.findByAccountNumber("0987654321"))
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
                                 .thenReturn(Optional.of(toAccount));
 
                 // Act & Assert
@@ -162,9 +222,9 @@ class TransferServiceTest {
         @Test
         void testTransferWithNegativeAmount() {
                 // Arrange
-                when(accountRepository.findByAccountNumber("1234567890"))
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
                                 .thenReturn(Optional.of(fromAccount));
-                when(accountRepository.findByAccountNumber("0987654321"))
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
                                 .thenReturn(Optional.of(toAccount));
 
                 // Act & Assert
@@ -174,4 +234,66 @@ class TransferServiceTest {
                                         new BigDecimal("-100.00"), "Test transfer");
                 });
         }
-}
\ No newline at end of file
+
+        @Test
+        void testOpenHoldMakesTransferFail() {
+                // Arrange - 800.00 of the 1000.00 balance is held, against a real ledger
+                ReservationLedger ledger = new ReservationLedger();
+                ledger.reserve("1234567890", ReservationLedger.toMinorUnits(new BigDecimal("800.00")));
+                TransferService service = new TransferService(accountRepository, transactionRepository,
+                                fxRateService, segmentStore, velocityLimiter, outboxWriter,
+                                failedTransferRecorder, recentActivityCache, ledger);
+
+                when(accountRepository.findByAccountNumberForUpdate("1234567890"))
+                                .thenReturn(Optional.of(fromAccount));
+                when(accountRepository.findByAccountNumberForUpdate("0987654321"))
+                                .thenReturn(Optional.of(toAccount));
+
+                // Act
+                InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+                                () -> service.transfer("1234567890", "0987654321",
+                                                new BigDecimal("300.00"), "Test transfer"));
+
+                // Assert - nothing moved, the failure is recorded and the hold is intact
+                assertTrue(exception.getMessage().contains("Reserved: 800.00"));
+                assertEquals(new BigDecimal("1000.00"), fromAccount.getBalance());
+                verify(accountRepository, never()).save(any(Account.class));
+                verify(failedTransferRecorder).record(argThat(t -> "FAILED".equals(t.getStatus())));
+                assertEquals(ReservationLedger.toMinorUnits(new BigDecimal("800.00")), ledger.heldMinor("1234567890"));
+        }
+
+        @Test
+        void testHistoryMergesHotAndArchivedRows() {
+                // Arrange - txn-2 was archived but its partition delete has not run yet
+                LocalDateTime base = LocalDateTime.of(2024, 1, 15, 9, 30);
+                Transaction archivedOnly = createArchived("txn-1", base);
+                Transaction archivedAndHot = createArchived("txn-2", base.plusDays(1));
+                when(segmentStore.isEmpty()).thenReturn(false);
+                when(segmentStore.findByAccount("1234567890"))
+                                .thenReturn(List.of(archivedAndHot, archivedOnly));
+                when(transactionRepository.streamHistoryViews("1234567890")).thenReturn(Stream.of(
+                                TransactionResponse.from(archivedAndHot),
+                                TransactionResponse.from(createArchived("txn-3", base.plusDays(2)))));
+
+                // Act
+                List<TransactionResponse> history = new ArrayList<>();
+                transferService.forEachHistoryEntry("1234567890", history::add);
+
+                // Assert - each transaction once, oldest first
+                assertEquals(List.of("txn-1", "txn-2", "txn-3"), history.stream()
+                                .map(TransactionResponse::getTransactionId)
+                                .collect(Collectors.toList()));
+        }
+
+        private Transaction createArchived(String transactionId, LocalDateTime transactionDate) {
+                Transaction transaction = new Transaction();
+                transaction.setTransactionId(transactionId);
+                transaction.setFromAccountNumber("1234567890");
+                transaction.setToAccountNumber("0987654321");
+                transaction.setAmount(new BigDecimal("10.00"));
+                transaction.setCurrency("USD");
+                transaction.setStatus("SUCCESS");
+                transaction.setTransactionDate(transactionDate);
+                return transaction;
+        }
+}
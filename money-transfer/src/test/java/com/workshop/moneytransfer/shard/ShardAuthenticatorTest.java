@@ -0,0 +1,124 @@
+package com.workshop.moneytransfer.shard;
+
+import com.workshop.moneytransfer.config.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class ShardAuthenticatorTest {
+
+        private static final byte[] BODY = "{\"sagaId\":\"s-1\"}".getBytes(StandardCharsets.UTF_8);
+
+        private ShardAuthenticator nodeA;
+        private ShardAuthenticator nodeB;
+
+        @BeforeEach
+        void setUp() {
+                nodeA = authenticator("node-a", "secret");
+                nodeB = authenticator("node-b", "secret");
+        }
+
+        @Test
+        void testSignedRequestFromPeerVerifies() {
+                // Arrange
+                HttpHeaders headers = nodeA.sign("POST", "/internal/shards/credit", BODY);
+
+                // Act
+                MockHttpServletRequest request = request("POST", "/internal/shards/credit", null, headers);
+
+                // Assert
+                assertTrue(nodeB.hasValidSignature(request));
+                assertTrue(nodeB.matchesBody(request, BODY));
+        }
+
+        @Test
+        void testQueryStringIsPartOfTheSignature() {
+                // Arrange
+                HttpHeaders headers = nodeA.sign("PUT", "/api/accounts/1234567890/status?status=ACTIVE", null);
+
+                // Act & Assert
+                assertTrue(nodeB.hasValidSignature(
+                                request("PUT", "/api/accounts/1234567890/status", "status=ACTIVE", headers)));
+                assertFalse(nodeB.hasValidSignature(
+                                request("PUT", "/api/accounts/1234567890/status", "status=BLOCKED", headers)));
+        }
+
+        @Test
+        void testForgedOrTamperedRequestsAreRejected() {
+                // Arrange
+                HttpHeaders headers = nodeA.sign("POST", "/internal/shards/credit", BODY);
+                HttpHeaders otherSecret = authenticator("node-a", "guessed").sign("POST", "/internal/shards/credit", BODY);
+                HttpHeaders stale = nodeA.sign("POST", "/internal/shards/credit", BODY);
+                stale.set(ShardAuthenticator.TIMESTAMP_HEADER, String.valueOf(System.currentTimeMillis() - 120_000));
+                HttpHeaders headerOnly = new HttpHeaders();
+                headerOnly.set(ShardClient.FORWARDED_HEADER, "node-a");
+
+                // Act & Assert
+                assertFalse(nodeB.hasValidSignature(request("POST", "/internal/shards/refund", null, headers)));
+                assertFalse(nodeB.matchesBody(request("POST", "/internal/shards/credit", null, headers),
+                                "{\"sagaId\":\"s-2\"}".getBytes(StandardCharsets.UTF_8)));
+                assertFalse(nodeB.hasValidSignature(request("POST", "/internal/shards/credit", null, otherSecret)));
+                assertFalse(nodeB.hasValidSignature(request("POST", "/internal/shards/credit", null, stale)));
+                assertFalse(nodeB.hasValidSignature(request("POST", "/internal/shards/credit", null, headerOnly)));
+                // A node does not accept its own signature as a peer's
+                assertFalse(nodeA.hasValidSignature(request("POST", "/internal/shards/credit", null, headers)));
+        }
+
+        @Test
+        void testReplayedRequestIsRejected() {
+                // Arrange
+                HttpHeaders headers = nodeA.sign("POST", "/internal/shards/credit", BODY);
+                HttpHeaders next = nodeA.sign("POST", "/internal/shards/credit", BODY);
+                HttpHeaders forgedNonce = new HttpHeaders();
+                forgedNonce.putAll(headers);
+                forgedNonce.set(ShardAuthenticator.NONCE_HEADER, "another-nonce");
+
+                // Act
+                MockHttpServletRequest original = request("POST", "/internal/shards/credit", null, headers);
+                MockHttpServletRequest replay = request("POST", "/internal/shards/credit", null, headers);
+
+                // Assert - the copy still verifies, but its nonce is spent
+                assertTrue(nodeB.hasValidSignature(original));
+                assertTrue(nodeB.acceptNonce(original));
+                assertTrue(nodeB.hasValidSignature(replay));
+                assertFalse(nodeB.acceptNonce(replay));
+                // A fresh request with the same body gets its own nonce
+                assertTrue(nodeB.acceptNonce(request("POST", "/internal/shards/credit", null, next)));
+                // Changing the nonce to get past the cache breaks the signature
+                assertFalse(nodeB.hasValidSignature(
+                                request("POST", "/internal/shards/credit", null, forgedNonce)));
+        }
+
+        private static ShardAuthenticator authenticator(String nodeId, String secret) {
+                ShardingProperties properties = new ShardingProperties();
+                properties.setEnabled(true);
+                properties.setNodeId(nodeId);
+                properties.setSharedSecret(secret);
+                properties.setNodes(List.of(node("node-a"), node("node-b")));
+                ShardRouter router = new ShardRouter(properties);
+                router.init();
+                return new ShardAuthenticator(properties, router);
+        }
+
+        private static ShardingProperties.Node node(String id) {
+                ShardingProperties.Node node = new ShardingProperties.Node();
+                node.setId(id);
+                node.setUrl("http://" + id);
+                return node;
+        }
+
+        private static MockHttpServletRequest request(String method, String path, String query, HttpHeaders headers) {
+                MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+                request.setQueryString(query);
+                headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+                return request;
+        }
+}
@@ -0,0 +1,264 @@
+package com.workshop.moneytransfer.shard;
+
+import com.workshop.moneytransfer.MoneyTransferApplication;
+import com.workshop.moneytransfer.repository.AccountRepository;
+import com.workshop.moneytransfer.repository.TransferSagaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs three shard nodes, each with its own port and embedded H2 database,
+ * and checks that no money is created or lost by routed and cross-shard
+ * transfers, including ones that fail and are compensated. Also checks that
+ * peer endpoints refuse unsigned calls and that account-scoped endpoints
+ * work from any node.
+ */
+@Tag("integration")
+class ShardedTransferIntegrationTest {
+
+        private static final String[] NODE_IDS = {"node-a", "node-b", "node-c"};
+        private static final int ACCOUNTS_PER_NODE = 4;
+        private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+        private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        private static final List<String> urls = new ArrayList<>();
+        private static final RestClient client = RestClient.create();
+
+        @TempDir
+        static Path archiveDirectory;
+
+        @BeforeAll
+        static void startNodes() throws IOException {
+                List<String> ringArgs = new ArrayList<>();
+                for (int i = 0; i < NODE_IDS.length; i++) {
+                        String url = "http://localhost:" + freePort();
+                        urls.add(url);
+                        ringArgs.add("--sharding.nodes[" + i + "].id=" + NODE_IDS[i]);
+                        ringArgs.add("--sharding.nodes[" + i + "].url=" + url);
+                }
+
+                for (int i = 0; i < NODE_IDS.length; i++) {
+                        List<String> args = new ArrayList<>(ringArgs);
+                        args.add("--server.port=" + urls.get(i).substring(urls.get(i).lastIndexOf(':') + 1));
+                        args.add("--spring.datasource.url=jdbc:h2:mem:" + NODE_IDS[i] + ";DB_CLOSE_DELAY=-1");
+                        args.add("--sharding.enabled=true");
+                        args.add("--sharding.node-id=" + NODE_IDS[i]);
+                        args.add("--sharding.saga-retry-delay-ms=500");
+                        args.add("--sharding.shared-secret=integration-test-secret");
+                        args.add("--holds.journal-path=" + archiveDirectory.resolve(NODE_IDS[i] + "-holds.journal"));
+                        args.add("--outbox.file.path=" + archiveDirectory.resolve(NODE_IDS[i] + "-events.jsonl"));
+                        args.add("--velocity.enabled=false");
+                        args.add("--scheduler.enabled=false");
+                        args.add("--archive.enabled=false");
+                        args.add("--archive.directory=" + archiveDirectory.resolve(NODE_IDS[i]));
+                        args.add("--spring.jpa.show-sql=false");
+                        args.add("--logging.level.org.hibernate.SQL=WARN");
+                        args.add("--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+
+                        nodes.add(new SpringApplicationBuilder(MoneyTransferApplication.class)
+                                        .run(args.toArray(new String[0])));
+                }
+        }
+
+        @AfterAll
+        static void stopNodes() {
+                nodes.forEach(ConfigurableApplicationContext::close);
+        }
+
+        @Test
+        void testTotalMoneyIsConservedAcrossShards() throws Exception {
+                // Arrange - accounts are created on whichever node receives the request
+                List<String> accounts = new ArrayList<>();
+                for (int i = 0; i < NODE_IDS.length * ACCOUNTS_PER_NODE; i++) {
+                        Map<?, ?> account = client.post()
+                                        .uri(urls.get(i % urls.size()) + "/api/accounts")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .body(Map.of("accountHolderName", "Holder " + i,
+                                                        "initialBalance", INITIAL_BALANCE))
+                                        .retrieve()
+                                        .body(Map.class);
+                        accounts.add((String) account.get("accountNumber"));
+                }
+                BigDecimal expectedTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts.size()));
+
+                // Act - random transfers sent to random nodes, some overdrawn, some to unknown accounts
+                Random random = new Random(42);
+                int crossShardSuccesses = 0;
+                for (int i = 0; i < 150; i++) {
+                        String from = accounts.get(random.nextInt(accounts.size()));
+                        String to = i % 15 == 0
+                                        ? "0000000000"
+                                        : accounts.get(random.nextInt(accounts.size()));
+                        if (from.equals(to)) {
+                                continue;
+                        }
+                        BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(60000), 2);
+
+                        int status = client.post()
+                                        .uri(urls.get(random.nextInt(urls.size())) + "/api/transfers")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .body(Map.of("fromAccountNumber", from,
+                                                        "toAccountNumber", to,
+                                                        "amount", amount,
+                                                        "description", "Shard test " + i))
+                                        .exchange((request, response) -> response.getStatusCode().value());
+                        assertTrue(status == 201 || status == 400 || status == 404,
+                                        "Unexpected status " + status);
+                        if (status == 201 && !ownerOf(from).equals(ownerOf(to))) {
+                                crossShardSuccesses++;
+                        }
+                }
+
+                // Assert - every saga settled and the sum of all balances is unchanged
+                for (ConfigurableApplicationContext node : nodes) {
+                        assertEquals(0, node.getBean(TransferSagaRepository.class).countByStatus("DEBITED"));
+                        assertTrue(node.getBean(AccountRepository.class).count() > 0);
+                }
+                assertTrue(crossShardSuccesses > 0);
+
+                BigDecimal total = BigDecimal.ZERO;
+                for (String accountNumber : accounts) {
+                        Map<?, ?> balance = client.get()
+                                        .uri(urls.get(0) + "/api/accounts/" + accountNumber + "/balance")
+                                        .retrieve()
+                                        .body(Map.class);
+                        total = total.add(new BigDecimal(balance.get("balance").toString()));
+                }
+                assertEquals(0, expectedTotal.compareTo(total),
+                                "Expected total " + expectedTotal + " but was " + total);
+        }
+
+        @Test
+        void testUnsignedPeerRequestsAreRefused() {
+                // Arrange - a client pretending to be node-b
+                Map<String, Object> credit = Map.of("sagaId", "forged-saga",
+                                "fromAccountNumber", "1111111111",
+                                "toAccountNumber", createAccount(0),
+                                "amount", new BigDecimal("1000000.00"),
+                                "currency", "USD");
+
+                // Act
+                int internalStatus = client.post()
+                                .uri(urls.get(0) + "/internal/shards/credit")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header(ShardClient.FORWARDED_HEADER, "node-b")
+                                .body(credit)
+                                .exchange((request, response) -> response.getStatusCode().value());
+                int forwardedStatus = client.get()
+                                .uri(urls.get(0) + "/api/accounts/" + createAccount(1))
+                                .header(ShardClient.FORWARDED_HEADER, "node-b")
+                                .exchange((request, response) -> response.getStatusCode().value());
+
+                // Assert
+                assertEquals(403, internalStatus);
+                assertEquals(403, forwardedStatus);
+        }
+
+        @Test
+        void testAccountScopedEndpointsWorkFromAnyNode() {
+                // Arrange - two accounts on node-b, one on each other node
+                String sourceOnB = createAccount(1);
+                String destinationOnB = createAccount(1);
+                String onA = createAccount(0);
+                String onC = createAccount(2);
+
+                // Act & Assert - listing from node-a includes every node's accounts
+                List<?> accounts = client.get().uri(urls.get(0) + "/api/accounts").retrieve().body(List.class);
+                List<Object> listed = accounts.stream().map(account -> ((Map<?, ?>) account).get("accountNumber"))
+                                .collect(Collectors.toList());
+                assertTrue(listed.containsAll(List.of(sourceOnB, destinationOnB, onA, onC)));
+
+                // Bulk status sent to node-c is applied on each owner
+                Map<?, ?> bulk = client.put()
+                                .uri(urls.get(2) + "/api/accounts/bulk-status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(Map.of("accountNumbers", List.of(onA, onC, "0000000000"), "status", "INACTIVE"))
+                                .retrieve()
+                                .body(Map.class);
+                assertEquals(3, bulk.get("requested"));
+                assertEquals(2, bulk.get("updated"));
+                assertEquals(List.of("0000000000"), bulk.get("notFound"));
+                assertEquals("INACTIVE", client.get().uri(urls.get(1) + "/api/accounts/" + onA)
+                                .retrieve().body(Map.class).get("status"));
+
+                // A hold authorized through node-a lives on node-b and is reachable from node-c
+                Map<?, ?> hold = client.post()
+                                .uri(urls.get(0) + "/api/holds")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(Map.of("fromAccountNumber", sourceOnB,
+                                                "toAccountNumber", destinationOnB,
+                                                "amount", new BigDecimal("40.00")))
+                                .retrieve()
+                                .body(Map.class);
+                String holdId = (String) hold.get("holdId");
+                assertTrue(holdId.startsWith("node-b."));
+                Map<?, ?> available = client.get()
+                                .uri(urls.get(2) + "/api/holds/accounts/" + sourceOnB + "/available-balance")
+                                .retrieve()
+                                .body(Map.class);
+                assertEquals(0, new BigDecimal("40.00").compareTo(new BigDecimal(available.get("held").toString())));
+                Map<?, ?> captured = client.post()
+                                .uri(urls.get(2) + "/api/holds/" + holdId + "/capture")
+                                .retrieve()
+                                .body(Map.class);
+                assertEquals("CAPTURED", captured.get("status"));
+
+                // A scheduled transfer to another node can be created, read and cancelled from anywhere
+                Map<?, ?> instruction = client.post()
+                                .uri(urls.get(0) + "/api/scheduled-transfers")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(Map.of("fromAccountNumber", sourceOnB,
+                                                "toAccountNumber", onC,
+                                                "amount", new BigDecimal("5.00"),
+                                                "executeAt", LocalDateTime.now().plusDays(1).toString(),
+                                                "recurrence", "DAILY"))
+                                .retrieve()
+                                .body(Map.class);
+                String instructionId = (String) instruction.get("instructionId");
+                assertEquals("ACTIVE", client.get().uri(urls.get(2) + "/api/scheduled-transfers/" + instructionId)
+                                .retrieve().body(Map.class).get("status"));
+                assertEquals("CANCELLED", client.delete().uri(urls.get(0) + "/api/scheduled-transfers/" + instructionId)
+                                .retrieve().body(Map.class).get("status"));
+        }
+
+        private static String createAccount(int node) {
+                Map<?, ?> account = client.post()
+                                .uri(urls.get(node) + "/api/accounts")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(Map.of("accountHolderName", "Routed holder",
+                                                "initialBalance", new BigDecimal("100.00")))
+                                .retrieve()
+                                .body(Map.class);
+                return (String) account.get("accountNumber");
+        }
+
+        private static String ownerOf(String accountNumber) {
+                return nodes.get(0).getBean(ShardRouter.class).ownerOf(accountNumber).getId();
+        }
+
+        private static int freePort() throws IOException {
+                try (ServerSocket socket = new ServerSocket(0)) {
+                        return socket.getLocalPort();
+                }
+        }
+}
@@ -0,0 +1,77 @@
+package com.workshop.moneytransfer.velocity;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AccountVelocityTest {
+
+        private static final long NOW = 1_700_000_000_000L;
+
+        private final VelocityLimits limits = new VelocityLimits(
+                        3, new BigDecimal("1000"),
+                        10, new BigDecimal("5000"),
+                        20, new BigDecimal("10000"));
+
+        @Test
+        void testCountLimitPerMinute() {
+                // Arrange
+                AccountVelocity velocity = new AccountVelocity();
+
+                // Act & Assert
+                assertNull(velocity.tryRecord(NOW, 100, limits));
+                assertNull(velocity.tryRecord(NOW + 1_000, 100, limits));
+                assertNull(velocity.tryRecord(NOW + 2_000, 100, limits));
+                assertEquals("1 minute", velocity.tryRecord(NOW + 3_000, 100, limits));
+
+                // The window slides: a minute later the first transfers have expired
+                assertNull(velocity.tryRecord(NOW + 61_000, 100, limits));
+        }
+
+        @Test
+        void testAmountLimitIsNeverOvershot() {
+                // Arrange
+                AccountVelocity velocity = new AccountVelocity();
+                long nineHundred = VelocityLimits.toMinorUnits(new BigDecimal("900.00"));
+                long twoHundred = VelocityLimits.toMinorUnits(new BigDecimal("200.00"));
+
+                // Act & Assert
+                assertNull(velocity.tryRecord(NOW, nineHundred, limits));
+                assertEquals("1 minute", velocity.tryRecord(NOW, twoHundred, limits));
+
+                // The refused transfer was taken back out, a smaller one still fits
+                assertNull(velocity.tryRecord(NOW, VelocityLimits.toMinorUnits(new BigDecimal("100.00")), limits));
+        }
+
+        @Test
+        void testHourLimitAppliesAcrossMinutes() {
+                // Arrange
+                AccountVelocity velocity = new AccountVelocity();
+
+                // Act
+                for (int i = 0; i < 10; i++) {
+                        assertNull(velocity.tryRecord(NOW + i * 120_000L, 100, limits));
+                }
+
+                // Assert
+                assertEquals("1 hour", velocity.tryRecord(NOW + 21 * 60_000L, 100, limits));
+        }
+
+        @Test
+        void testReleaseUndoesRecord() {
+                // Arrange
+                SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 12);
+
+                // Act
+                counter.add(NOW, 1, 500);
+                counter.add(NOW, -1, -500);
+
+                // Assert
+                assertEquals(0, counter.count(NOW));
+                assertEquals(0, counter.amount(NOW));
+        }
+}